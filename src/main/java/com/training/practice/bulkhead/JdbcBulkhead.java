@@ -0,0 +1,48 @@
+package com.training.practice.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many requests may use the database at the same time. With open-in-view a request keeps its
+ * JDBC connection until it completes, so one permit per pooled connection lets callers beyond the pool
+ * size fail fast instead of piling up on Hikari. With virtual threads there is no Tomcat worker limit
+ * in front of the pool any more, this is what bounds the wait queue.
+ */
+public class JdbcBulkhead {
+    
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long timeoutMillis;
+    
+    public JdbcBulkhead(int maxConcurrent, long timeoutMillis) {
+        // Fair, so a steady stream of new requests can't starve the ones already waiting
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    /**
+     * Waits up to the configured timeout for a permit, every successful call must be paired with {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+    
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
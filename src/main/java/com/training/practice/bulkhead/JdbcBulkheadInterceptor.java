@@ -0,0 +1,42 @@
+package com.training.practice.bulkhead;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.training.practice.exception.BulkheadFullException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Holds a {@link JdbcBulkhead} permit for the lifetime of a database-backed request.
+ */
+@RequiredArgsConstructor
+public class JdbcBulkheadInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final String PERMIT_ATTRIBUTE = JdbcBulkheadInterceptor.class.getName() + ".PERMIT";
+    
+    private final JdbcBulkhead bulkhead;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async dispatch of a streaming export runs on the permit of its initial dispatch
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        if (!bulkhead.tryAcquire()) {
+            throw BulkheadFullException.database(bulkhead.getMaxConcurrent());
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // Skipped for the initial dispatch of an async request, runs once its async dispatch completes
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+}
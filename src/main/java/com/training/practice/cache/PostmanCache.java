@@ -0,0 +1,216 @@
+package com.training.practice.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.training.practice.client.PostmanClient;
+import com.training.practice.client.ReactivePostmanClient;
+import com.training.practice.config.CacheConfig;
+import com.training.practice.dto.external.PostmanClientResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of the PostmanClient GET calls, stale-while-revalidate per method.
+ * A read past refreshAfterWrite returns the cached value at once and reloads it in the background,
+ * so repeat reads never wait for the upstream until expireAfterWrite. A failed reload keeps the old
+ * value. Concurrent misses for the same key share one upstream call through {@link SingleFlight},
+ * whether they come in through the blocking or the reactive getters.
+ * Writes through PostmanClientService invalidate the affected entries, and Caffeine discards
+ * a reload that was in flight while its entry got invalidated.
+ */
+@Slf4j
+@Component
+public class PostmanCache {
+    
+    private static final String ALL = "all";
+    
+    private final ReactivePostmanClient reactivePostmanClient;
+    private final ExecutorService refreshExecutor;
+    private final ReadThrough<String, List<PostmanClientResponse>> allUsers;
+    private final ReadThrough<Long, PostmanClientResponse> users;
+    private final ReadThrough<String, List<PostmanClientResponse>> usersByRole;
+    private final ReadThrough<Long, List<String>> permissions;
+    
+    public PostmanCache(CacheConfig cacheConfig, PostmanClient postmanClient, ReactivePostmanClient reactivePostmanClient) {
+        CacheConfig.Postman config = cacheConfig.getPostman();
+        this.reactivePostmanClient = reactivePostmanClient;
+        // Reloads block on HTTP, keep them off the common pool
+        this.refreshExecutor = Executors.newFixedThreadPool(config.getRefreshThreads(),
+                new CustomizableThreadFactory("postman-cache-refresh-"));
+        
+        this.allUsers = build("allUsers", config.getAllUsers(), key -> postmanClient.getAllUsers());
+        this.users = build("users", config.getUsers(), postmanClient::getUserById);
+        this.usersByRole = build("usersByRole", config.getUsersByRole(), postmanClient::getUsersByRole);
+        this.permissions = build("permissions", config.getPermissions(), postmanClient::getUserPermissions);
+    }
+    
+    private <K, V> ReadThrough<K, V> build(String name, CacheConfig.Refreshing config, CacheLoader<K, V> loader) {
+        log.info("Configuring Postman {} cache with maximum size: {}, TTL: {} and refresh after: {}", 
+                name, config.getMaximumSize(), config.getExpireAfterWrite(), config.getRefreshAfterWrite());
+        
+        LoadingCache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .refreshAfterWrite(config.getRefreshAfterWrite())
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(loader);
+        return new ReadThrough<>(cache, loader);
+    }
+    
+    // Upstream errors propagate unchanged and leave no entry behind, like a direct call
+    public List<PostmanClientResponse> getAllUsers() {
+        return allUsers.get(ALL);
+    }
+    
+    public PostmanClientResponse getUser(Long id) {
+        return users.get(id);
+    }
+    
+    public List<PostmanClientResponse> getUsersByRole(String role) {
+        return usersByRole.get(role);
+    }
+    
+    public List<String> getPermissions(Long id) {
+        return permissions.get(id);
+    }
+    
+    // A hit completes at once, a miss subscribes to the reactive client, the lookup starts on subscription
+    public Mono<List<PostmanClientResponse>> getAllUsersAsync() {
+        return Mono.fromFuture(() -> allUsers.getAsync(ALL, key -> reactivePostmanClient.getAllUsers().toFuture()));
+    }
+    
+    public Mono<PostmanClientResponse> getUserAsync(Long id) {
+        return Mono.fromFuture(() -> users.getAsync(id, key -> reactivePostmanClient.getUserById(key).toFuture()));
+    }
+    
+    public Mono<List<PostmanClientResponse>> getUsersByRoleAsync(String role) {
+        return Mono.fromFuture(() -> usersByRole.getAsync(role, key -> reactivePostmanClient.getUsersByRole(key).toFuture()));
+    }
+    
+    public Mono<List<String>> getPermissionsAsync(Long id) {
+        return Mono.fromFuture(() -> permissions.getAsync(id, key -> reactivePostmanClient.getUserPermissions(key).toFuture()));
+    }
+    
+    // A new user or one changing name, status or roles shows up in every list
+    public void invalidateLists() {
+        allUsers.invalidateAll();
+        usersByRole.invalidateAll();
+    }
+    
+    public void invalidateUser(Long id) {
+        log.debug("Invalidating cached Postman user ID: {}", id);
+        users.invalidate(id);
+        permissions.invalidate(id);
+        invalidateLists();
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "allUsers", allUsers.stats(),
+                "users", users.stats(),
+                "usersByRole", usersByRole.stats(),
+                "permissions", permissions.stats()
+        );
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    /**
+     * Misses are loaded on the caller's thread, so the request ID still reaches the upstream and no
+     * Caffeine lock is held during the HTTP call. Background refreshes use the cache's own loader.
+     */
+    private static final class ReadThrough<K, V> {
+        
+        private final LoadingCache<K, V> cache;
+        private final CacheLoader<K, V> loader;
+        private final SingleFlight<K, V> singleFlight = new SingleFlight<>();
+        // Bumped on every invalidation, a load that started before one must not cache its result
+        private final AtomicLong epoch = new AtomicLong();
+        
+        ReadThrough(LoadingCache<K, V> cache, CacheLoader<K, V> loader) {
+            this.cache = cache;
+            this.loader = loader;
+        }
+        
+        V get(K key) {
+            V cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            return singleFlight.execute(key, () -> {
+                long startedAt = epoch.get();
+                V loaded = load(key);
+                if (loaded != null && epoch.get() == startedAt) {
+                    cache.put(key, loaded);
+                }
+                return loaded;
+            });
+        }
+        
+        CompletableFuture<V> getAsync(K key, Function<K, CompletableFuture<V>> asyncLoader) {
+            V cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return singleFlight.executeAsync(key, () -> {
+                long startedAt = epoch.get();
+                return asyncLoader.apply(key).thenApply(loaded -> {
+                    if (loaded != null && epoch.get() == startedAt) {
+                        cache.put(key, loaded);
+                    }
+                    return loaded;
+                });
+            });
+        }
+        
+        private V load(K key) {
+            try {
+                return loader.load(key);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Loading " + key + " failed", e);
+            }
+        }
+        
+        void invalidate(K key) {
+            epoch.incrementAndGet();
+            cache.invalidate(key);
+        }
+        
+        void invalidateAll() {
+            epoch.incrementAndGet();
+            cache.invalidateAll();
+        }
+        
+        Map<String, Object> stats() {
+            CacheStats stats = cache.stats();
+            return Map.of(
+                    "size", cache.estimatedSize(),
+                    "hits", stats.hitCount(),
+                    "misses", stats.missCount(),
+                    "hitRate", stats.hitRate(),
+                    "coalesced", singleFlight.getCoalescedCount(),
+                    "loadFailures", stats.loadFailureCount(),
+                    "evictions", stats.evictionCount()
+            );
+        }
+    }
+}
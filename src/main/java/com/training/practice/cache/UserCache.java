@@ -0,0 +1,98 @@
+package com.training.practice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.training.practice.config.CacheConfig;
+import com.training.practice.dto.UserDTO;
+import com.training.practice.dto.UserV2DTO;
+import com.training.practice.dto.Versioned;
+import com.training.practice.event.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size-bounded read-through cache of user DTOs, with their ETag version, keyed by ID.
+ * Caffeine evicts with W-TinyLFU, so frequently read profiles survive bursts of one-off lookups.
+ * Entries are dropped once a change to the user has been committed.
+ */
+@Slf4j
+@Component
+public class UserCache {
+    
+    private final Cache<String, Versioned<UserDTO>> users;
+    private final Cache<String, Versioned<UserV2DTO>> usersV2;
+    
+    public UserCache(CacheConfig cacheConfig) {
+        CacheConfig.Users config = cacheConfig.getUsers();
+        log.info("Configuring user cache with maximum size: {} and TTL: {}", 
+                config.getMaximumSize(), config.getExpireAfterWrite());
+        
+        this.users = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.usersV2 = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+    
+    // Missing users are not cached, the loader returning empty leaves no entry behind
+    public Optional<Versioned<UserDTO>> getUser(String id, Function<String, Optional<Versioned<UserDTO>>> loader) {
+        return Optional.ofNullable(users.get(id, key -> loader.apply(key).orElse(null)));
+    }
+    
+    public Optional<Versioned<UserV2DTO>> getUserV2(String id, Function<String, Optional<Versioned<UserV2DTO>>> loader) {
+        return Optional.ofNullable(usersV2.get(id, key -> loader.apply(key).orElse(null)));
+    }
+    
+    // Cached state only, never loads
+    public Optional<UserDTO> peekUser(String id) {
+        return Optional.ofNullable(users.getIfPresent(id)).map(Versioned::value);
+    }
+    
+    // Both representations are built from the same state, either one answers a conditional GET
+    public Optional<String> getVersion(String id) {
+        Versioned<UserDTO> user = users.getIfPresent(id);
+        if (user != null) {
+            return Optional.of(user.version());
+        }
+        return Optional.ofNullable(usersV2.getIfPresent(id)).map(Versioned::version);
+    }
+    
+    public void invalidate(String id) {
+        users.invalidate(id);
+        usersV2.invalidate(id);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Invalidating cached user ID: {} after {}", event.getUserId(), event.getType());
+        invalidate(event.getUserId());
+    }
+    
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "users", toMap(users.stats(), users.estimatedSize()),
+                "usersV2", toMap(usersV2.stats(), usersV2.estimatedSize())
+        );
+    }
+    
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        return Map.of(
+                "size", size,
+                "hits", stats.hitCount(),
+                "misses", stats.missCount(),
+                "hitRate", stats.hitRate(),
+                "evictions", stats.evictionCount()
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package com.training.practice.client;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.DeleteExchange;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PatchExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import org.springframework.web.service.annotation.PutExchange;
+
+import com.training.practice.dto.backend.PostmanRequest;
+import com.training.practice.dto.external.PostmanClientResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link PostmanClient} on the same WebClient. Nothing is sent until the
+ * returned Mono is subscribed, and no thread waits for the upstream while it is in flight.
+ */
+@HttpExchange
+public interface ReactivePostmanClient {
+    
+    @GetExchange("/users")
+    Mono<List<PostmanClientResponse>> getAllUsers();
+
+    @GetExchange("/users/{id}")
+    Mono<PostmanClientResponse> getUserById(@PathVariable Long id);
+    
+    @GetExchange("/users")
+    Mono<List<PostmanClientResponse>> getUsersByRole(@RequestParam String role);
+
+    @PostExchange("/users")
+    Mono<PostmanClientResponse> createUser(@RequestBody PostmanRequest request);    
+
+    @PutExchange("/users/{id}")
+    Mono<PostmanClientResponse> updateFullUser(@PathVariable Long id, @RequestBody PostmanRequest request);
+
+    @PatchExchange("/users/{id}")
+    Mono<PostmanClientResponse> updatePartialUser(@PathVariable Long id, @RequestBody PostmanRequest request);
+
+    @DeleteExchange("/users/{id}")
+    Mono<Void> deleteUser(@PathVariable Long id);
+    
+    @GetExchange("/users/{id}/permissions")
+    Mono<List<String>> getUserPermissions(@PathVariable Long id);
+    
+    @PostExchange("/users/{id}/roles")
+    Mono<PostmanClientResponse> assignRole(@PathVariable Long id, @RequestParam String role);
+    
+    // Streaming reads: the JSON array is decoded element by element as it arrives, so memory stays flat
+    // and the in-memory codec limit applies to one user, not the whole list
+    
+    @GetExchange("/users")
+    Flux<PostmanClientResponse> streamAllUsers();
+    
+    @GetExchange("/users")
+    Flux<PostmanClientResponse> streamUsersByRole(@RequestParam String role);
+}
@@ -8,8 +8,12 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import javax.sql.DataSource;
+import com.training.practice.bulkhead.JdbcBulkhead;
+import com.training.practice.bulkhead.JdbcBulkheadInterceptor;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import java.util.Arrays;
@@ -38,10 +42,34 @@ public class ApplicationConfig {
         config.setConnectionTimeout(databaseConfig.getConnectionTimeout());
         config.setMaximumPoolSize(databaseConfig.getMaximumPoolSize());
         config.setMinimumIdle(databaseConfig.getMinimumIdle());
+        // Tags the hikaricp.* pool metrics
+        config.setPoolName("practice-db");
         
         return new HikariDataSource(config);
     }
     
+    @Bean
+    public JdbcBulkhead jdbcBulkhead() {
+        log.info("Configuring JDBC bulkhead with {} permits and timeout: {} ms",
+                databaseConfig.getMaximumPoolSize(), databaseConfig.getBulkheadTimeout());
+        
+        // One permit per pooled connection
+        return new JdbcBulkhead(databaseConfig.getMaximumPoolSize(), databaseConfig.getBulkheadTimeout());
+    }
+    
+    @Bean
+    public WebMvcConfigurer jdbcBulkheadConfigurer(JdbcBulkhead jdbcBulkhead) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                // Database-backed endpoints only, stats are served from memory and Postman calls never touch the pool
+                registry.addInterceptor(new JdbcBulkheadInterceptor(jdbcBulkhead))
+                        .addPathPatterns("/api/users/**", "/api/subjects/**")
+                        .excludePathPatterns("/api/users/stats/**");
+            }
+        };
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         log.info("Configuring CORS with allowed origins: {}", 
@@ -0,0 +1,46 @@
+package com.training.practice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "custom.cache")
+public class CacheConfig {
+    private Users users = new Users();
+    private Postman postman = new Postman();
+    
+    @Data
+    public static class Users {
+        private long maximumSize = 10000;
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+    
+    // One entry per PostmanClient read method
+    @Data
+    public static class Postman {
+        private Refreshing allUsers = new Refreshing(1, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        private Refreshing users = new Refreshing(1000, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        private Refreshing usersByRole = new Refreshing(100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+        private Refreshing permissions = new Refreshing(1000, Duration.ofMinutes(30), Duration.ofMinutes(2));
+        private int refreshThreads = 2;
+    }
+    
+    /**
+     * Entries older than refreshAfterWrite are still served while one background reload runs,
+     * entries older than expireAfterWrite are never served and the caller waits for the upstream.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Refreshing {
+        private long maximumSize;
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+    }
+}
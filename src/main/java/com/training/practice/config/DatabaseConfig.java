@@ -11,4 +11,5 @@ public class DatabaseConfig {
     private int connectionTimeout = 30000;
     private int maximumPoolSize = 10;
     private int minimumIdle = 5;
+    private int bulkheadTimeout = 1000; // ms a request waits for one of maximumPoolSize bulkhead permits before 503
 }
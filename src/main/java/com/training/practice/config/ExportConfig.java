@@ -0,0 +1,12 @@
+package com.training.practice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "custom.export")
+public class ExportConfig {
+    private long timeout = 1800000; // ms, async timeout of /api/users/export only, other async requests keep the default
+}
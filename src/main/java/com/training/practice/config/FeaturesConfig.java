@@ -8,5 +8,8 @@ import org.springframework.stereotype.Component;
 @Component
 @ConfigurationProperties(prefix = "custom.features")
 public class FeaturesConfig {
-    private boolean enableLogging = true;
+    // Both are changed at runtime through POST /api/config/features/logging
+    private volatile boolean enableLogging = true;
+    // Share of requests (0.0 - 1.0) whose INFO/DEBUG application and SQL logs are written, WARN and ERROR always are
+    private volatile double logSampleRate = 1.0;
 }
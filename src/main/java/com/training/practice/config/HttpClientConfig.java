@@ -1,26 +1,103 @@
 package com.training.practice.config;
 
+import java.time.Duration;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
 import com.training.practice.client.PostmanClient;
+import com.training.practice.client.ReactivePostmanClient;
+import com.training.practice.logging.RequestIds;
+import com.training.practice.resilience.ResilientClientProxy;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+@Slf4j
 @Configuration
 public class HttpClientConfig {
     
+    private static final String POSTMAN = "postman";
+    
+    // Disposed with the context, the pool is owned by the Postman client alone
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider postmanConnectionProvider(final PostmanHttpConfig httpConfig) {
+        log.info("Configuring Postman connection pool with max connections: {}, max pending: {} and acquire timeout: {} ms",
+                httpConfig.getMaxConnections(), httpConfig.getPendingAcquireMaxCount(), httpConfig.getPendingAcquireTimeout());
+        
+        // metrics publishes reactor.netty.connection.provider.* gauges (active, idle, pending) tagged name=postman
+        return ConnectionProvider.builder("postman")
+                .maxConnections(httpConfig.getMaxConnections())
+                .pendingAcquireMaxCount(httpConfig.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(httpConfig.getPendingAcquireTimeout()))
+                .maxIdleTime(Duration.ofMillis(httpConfig.getMaxIdleTime()))
+                .maxLifeTime(Duration.ofMillis(httpConfig.getMaxLifeTime()))
+                .evictInBackground(Duration.ofMillis(httpConfig.getEvictionInterval()))
+                .metrics(httpConfig.isMetrics())
+                .build();
+    }
+    
     @Bean
-    public PostmanClient postmanClient(final PostmanClientConfig postmanClientConfig) {
-        WebClient webClient = WebClient.builder()
+    public WebClient postmanWebClient(final PostmanClientConfig postmanClientConfig, final PostmanHttpConfig httpConfig,
+            final ConnectionProvider postmanConnectionProvider, final WebClient.Builder webClientBuilder) {
+        HttpClient httpClient = HttpClient.create(postmanConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, httpConfig.getConnectTimeout())
+                .option(ChannelOption.SO_KEEPALIVE, httpConfig.isKeepAlive())
+                .responseTimeout(Duration.ofMillis(httpConfig.getResponseTimeout()))
+                .compress(httpConfig.isCompression())
+                .protocol(protocols(postmanClientConfig.getBaseUrl(), httpConfig.isHttp2()));
+        
+        // Boot's builder is instrumented, every call is timed as http.client.requests tagged with its URI template
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .baseUrl(postmanClientConfig.getBaseUrl())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                // Evaluated per call on the calling request thread, ties upstream logs to ours
+                .defaultRequest(request -> {
+                    String requestId = RequestIds.current();
+                    if (requestId != null) {
+                        request.header(RequestIds.HEADER, requestId);
+                    }
+                })
                 .build();
-        
-        return createClient(webClient, PostmanClient.class);
+    }
+    
+    // Circuit breaker, bulkhead and retry per method, see resilience4j.* in application.yml
+    @Bean
+    public PostmanClient postmanClient(final WebClient postmanWebClient, final CircuitBreakerRegistry circuitBreakerRegistry,
+            final BulkheadRegistry bulkheadRegistry, final RetryRegistry retryRegistry) {
+        return ResilientClientProxy.wrap(PostmanClient.class, createClient(postmanWebClient, PostmanClient.class),
+                POSTMAN, circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+    }
+    
+    // Same WebClient, connection pool and resilience instances as postmanClient, Mono return types instead of blocking ones
+    @Bean
+    public ReactivePostmanClient reactivePostmanClient(final WebClient postmanWebClient, final CircuitBreakerRegistry circuitBreakerRegistry,
+            final BulkheadRegistry bulkheadRegistry, final RetryRegistry retryRegistry) {
+        return ResilientClientProxy.wrap(ReactivePostmanClient.class, createClient(postmanWebClient, ReactivePostmanClient.class),
+                POSTMAN, circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+    }
+    
+    // HTTP/2 is negotiated by ALPN over TLS, plain http upgrades with h2c, both fall back to HTTP/1.1
+    private HttpProtocol[] protocols(String baseUrl, boolean http2) {
+        if (!http2) {
+            return new HttpProtocol[] { HttpProtocol.HTTP11 };
+        }
+        boolean secure = baseUrl != null && baseUrl.startsWith("https");
+        return new HttpProtocol[] { HttpProtocol.HTTP11, secure ? HttpProtocol.H2 : HttpProtocol.H2C };
     }
     
     private <T> T createClient(WebClient webClient, Class<T> clientClass) {
@@ -0,0 +1,14 @@
+package com.training.practice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "custom.postman.batch")
+public class PostmanBatchConfig {
+    private int maxIds = 100;
+    private int maxConcurrency = 16; // upstream calls in flight per batch request
+    private int itemTimeout = 2000; // ms per ID, a slower ID is reported as failed instead of holding up the batch
+}
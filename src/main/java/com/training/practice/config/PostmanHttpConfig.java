@@ -0,0 +1,26 @@
+package com.training.practice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reactor Netty connection pool and transport settings of the Postman WebClient, times in ms
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "custom.postman.http")
+public class PostmanHttpConfig {
+    private int maxConnections = 100;
+    private int pendingAcquireMaxCount = 500; // callers queued for a connection before failing fast, -1 unbounded
+    private int pendingAcquireTimeout = 2000; // ms a caller waits for a pooled connection
+    private int maxIdleTime = 30000; // below the upstream's keep-alive timeout, so we close first
+    private int maxLifeTime = 300000;
+    private int evictionInterval = 30000; // background sweep of idle and expired connections, 0 only on acquire
+    private int connectTimeout = 2000;
+    private int responseTimeout = 5000;
+    private boolean keepAlive = true;
+    private boolean http2 = false;
+    private boolean compression = true;
+    private boolean metrics = true;
+}
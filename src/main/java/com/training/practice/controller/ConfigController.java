@@ -1,5 +1,7 @@
 package com.training.practice.controller;
 
+import com.training.practice.cache.PostmanCache;
+import com.training.practice.cache.UserCache;
 import com.training.practice.config.DatasourceConfig;
 import com.training.practice.config.DatabaseConfig;
 import com.training.practice.config.AppSecurityConfig;
@@ -23,16 +25,18 @@ public class ConfigController {
     private final DatabaseConfig databaseConfig;
     private final AppSecurityConfig appSecurityConfig;
     private final FeatureToggleService featureToggleService;
+    private final UserCache userCache;
+    private final PostmanCache postmanCache;
     
     @GetMapping("/features")
     @ResponseBody
-    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getFeatureFlags(
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getFeatureFlags() {
         
         log.info("Fetching feature flags configuration");
         
         Map<String, Object> config = Map.of(
                 "enableLogging", featureToggleService.isLoggingEnabled(),
+                "logSampleRate", featureToggleService.getLogSampleRate(),
                 "pagination", Map.of(
                         "defaultPageSize", featureToggleService.getDefaultPageSize(),
                         "maxPageSize", featureToggleService.getMaxPageSize()
@@ -55,25 +59,47 @@ public class ConfigController {
         );
         
         ApiResponseDTO<Map<String, Object>> response = ApiResponseDTO.success("Configuration retrieved successfully", config);
-        response.setRequestId(requestId);
         
         return ResponseEntity.ok(response);
     }
     
     @PostMapping("/features/logging")
     @ResponseBody
-    public ResponseEntity<ApiResponseDTO<String>> toggleLogging(
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> toggleLogging(
             @RequestParam boolean enabled,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "sampleRate", required = false) Double sampleRate) {
         
-        log.info("Toggling logging feature to: {}", enabled);
+        featureToggleService.updateLogging(enabled, sampleRate);
         
-        String message = String.format("Logging is currently %s. Feature toggle received: %s", 
-                featureToggleService.isLoggingEnabled() ? "enabled" : "disabled", 
-                enabled);
+        Map<String, Object> logging = Map.of(
+                "enableLogging", featureToggleService.isLoggingEnabled(),
+                "logSampleRate", featureToggleService.getLogSampleRate()
+        );
+        
+        ApiResponseDTO<Map<String, Object>> response = ApiResponseDTO.success(
+                String.format("Logging is now %s", enabled ? "enabled" : "disabled"), logging);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/cache/users")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getUserCacheStats() {
+        
+        log.info("Fetching user cache statistics");
+        
+        ApiResponseDTO<Map<String, Object>> response = ApiResponseDTO.success("Cache statistics retrieved successfully", userCache.getStats());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/cache/postman")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getPostmanCacheStats() {
+        
+        log.info("Fetching Postman cache statistics");
         
-        ApiResponseDTO<String> response = ApiResponseDTO.success(message, null);
-        response.setRequestId(requestId);
+        ApiResponseDTO<Map<String, Object>> response = ApiResponseDTO.success("Cache statistics retrieved successfully", postmanCache.getStats());
         
         return ResponseEntity.ok(response);
     }
@@ -2,17 +2,25 @@ package com.training.practice.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.training.practice.dto.ApiResponseDTO;
+import com.training.practice.dto.PostmanUserBatchResultDTO;
+import com.training.practice.dto.PostmanUserProfileDTO;
 import com.training.practice.dto.backend.PostmanRequest;
 import com.training.practice.dto.backend.PostmanResponse;
+import com.training.practice.logging.RequestIds;
 import com.training.practice.service.PostmanClientService;
 
 import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/external/postman")
@@ -27,14 +35,12 @@ public class PostmanController {
      * Demonstrates @GetExchange usage
      */
     @GetMapping("/users")
-    public ResponseEntity<ApiResponseDTO<List<PostmanResponse>>> getAllUsers(
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+    public ResponseEntity<ApiResponseDTO<List<PostmanResponse>>> getAllUsers() {
         
-        log.info("GET - Fetching all users from Postman API - Request ID: {}", requestId);
+        log.info("GET - Fetching all users from Postman API");
         
         List<PostmanResponse> users = postmanService.getAllUsers();
         ApiResponseDTO<List<PostmanResponse>> response = ApiResponseDTO.success("Users fetched successfully", users);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -45,15 +51,13 @@ public class PostmanController {
      */
     @GetMapping("/users/{id}")
     public ResponseEntity<ApiResponseDTO<PostmanResponse>> getUserById(
-            @PathVariable Long id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @PathVariable Long id) {
         
-        log.info("GET - Fetching user by ID: {} - Request ID: {}", id, requestId);
+        log.info("GET - Fetching user by ID: {}", id);
         
         PostmanResponse user = postmanService.getUserById(id);
 
         ApiResponseDTO<PostmanResponse> response = ApiResponseDTO.success("User fetched successfully", user);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -64,14 +68,12 @@ public class PostmanController {
      */
     @GetMapping("/users/by-role")
     public ResponseEntity<ApiResponseDTO<List<PostmanResponse>>> getUsersByRole(
-            @RequestParam String role,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam String role) {
         
-        log.info("GET - Fetching users by role: {} - Request ID: {}", role, requestId);
+        log.info("GET - Fetching users by role: {}", role);
         
         List<PostmanResponse> users = postmanService.getUsersByRole(role);
         ApiResponseDTO<List<PostmanResponse>> response = ApiResponseDTO.success("Users by role fetched successfully", users);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -82,14 +84,12 @@ public class PostmanController {
      */
     @PostMapping("/users")
     public ResponseEntity<ApiResponseDTO<PostmanResponse>> createUser(
-            @Valid @RequestBody PostmanRequest request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @Valid @RequestBody PostmanRequest request) {
         
-        log.info("POST - Creating user: {} - Request ID: {}", request.getUserPostmanName(), requestId);
+        log.info("POST - Creating user: {}", request.getUserPostmanName());
         
         PostmanResponse user = postmanService.createUser(request);
         ApiResponseDTO<PostmanResponse> response = ApiResponseDTO.success("User created successfully", user);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -101,14 +101,12 @@ public class PostmanController {
     @PutMapping("/users/{id}")
     public ResponseEntity<ApiResponseDTO<PostmanResponse>> updateFullUser(
             @PathVariable Long id,
-            @Valid @RequestBody PostmanRequest request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @Valid @RequestBody PostmanRequest request) {
         
-        log.info("PUT - Full update user: {} - Request ID: {}", id, requestId);
+        log.info("PUT - Full update user: {}", id);
         
         PostmanResponse user = postmanService.updateFullUser(id, request);
         ApiResponseDTO<PostmanResponse> response = ApiResponseDTO.success("User updated successfully", user);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -120,14 +118,12 @@ public class PostmanController {
     @PatchMapping("/users/{id}")
     public ResponseEntity<ApiResponseDTO<PostmanResponse>> updatePartialUser(
             @PathVariable Long id,
-            @RequestBody PostmanRequest request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestBody PostmanRequest request) {
         
-        log.info("PATCH - Partial update user: {} - Request ID: {}", id, requestId);
+        log.info("PATCH - Partial update user: {}", id);
         
         PostmanResponse user = postmanService.updatePartialUser(id, request);
         ApiResponseDTO<PostmanResponse> response = ApiResponseDTO.success("User partially updated successfully", user);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -138,14 +134,12 @@ public class PostmanController {
      */
     @DeleteMapping("/users/{id}")
     public ResponseEntity<ApiResponseDTO<Void>> deleteUser(
-            @PathVariable Long id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @PathVariable Long id) {
         
-        log.info("DELETE - Deleting user: {} - Request ID: {}", id, requestId);
+        log.info("DELETE - Deleting user: {}", id);
         
         postmanService.deleteUser(id);
         ApiResponseDTO<Void> response = ApiResponseDTO.success("User deleted successfully", null);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -156,14 +150,12 @@ public class PostmanController {
      */
     @GetMapping("/users/{id}/permissions")
     public ResponseEntity<ApiResponseDTO<List<String>>> getUserPermissions(
-            @PathVariable Long id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @PathVariable Long id) {
         
-        log.info("GET - Fetching permissions for user: {} - Request ID: {}", id, requestId);
+        log.info("GET - Fetching permissions for user: {}", id);
         
         List<String> permissions = postmanService.getUserPermissions(id);
         ApiResponseDTO<List<String>> response = ApiResponseDTO.success("User permissions fetched successfully", permissions);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -175,15 +167,200 @@ public class PostmanController {
     @PostMapping("/users/{id}/roles")
     public ResponseEntity<ApiResponseDTO<PostmanResponse>> assignRole(
             @PathVariable Long id,
-            @RequestParam String role,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam String role) {
         
-        log.info("POST - Assigning role {} to user: {} - Request ID: {}", role, id, requestId);
+        log.info("POST - Assigning role {} to user: {}", role, id);
         
         PostmanResponse user = postmanService.assignRole(id, role);
         ApiResponseDTO<PostmanResponse> response = ApiResponseDTO.success("Role assigned successfully", user);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
+    
+    // Async variants: the servlet thread is released while the upstream call is in flight,
+    // the response is written from an async dispatch once the Mono completes
+    
+    /**
+     * GET /api/external/postman/async/users - Get all users without blocking a servlet thread
+     */
+    @GetMapping("/async/users")
+    public Mono<ResponseEntity<ApiResponseDTO<List<PostmanResponse>>>> getAllUsersAsync() {
+        
+        log.info("GET async - Fetching all users from Postman API");
+        
+        return ok(postmanService.getAllUsersAsync(), "Users fetched successfully");
+    }
+    
+    /**
+     * GET /api/external/postman/async/users/{id} - Get user by ID without blocking a servlet thread
+     */
+    @GetMapping("/async/users/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<PostmanResponse>>> getUserByIdAsync(
+            @PathVariable Long id) {
+        
+        log.info("GET async - Fetching user by ID: {}", id);
+        
+        return ok(postmanService.getUserByIdAsync(id), "User fetched successfully");
+    }
+    
+    /**
+     * GET /api/external/postman/users/batch?ids=1,2,3 - Get many users in one call
+     * Fans out concurrent upstream lookups, returns partial results with an error per failed ID
+     */
+    @GetMapping("/users/batch")
+    public Mono<ResponseEntity<ApiResponseDTO<List<PostmanUserBatchResultDTO>>>> getUsersByIds(
+            @RequestParam List<Long> ids) {
+        
+        log.info("GET - Fetching {} users by ID", ids.size());
+        
+        return ok(postmanService.getUsersByIdsAsync(ids), results -> {
+            long found = results.stream().filter(PostmanUserBatchResultDTO::isSuccess).count();
+            return String.format("Batch fetched: %d found, %d failed", found, results.size() - found);
+        });
+    }
+    
+    /**
+     * GET /api/external/postman/users/{id}/profile - Get user and permissions in one call
+     * Both upstream lookups run concurrently, saves the client a second round trip
+     */
+    @GetMapping("/users/{id}/profile")
+    public Mono<ResponseEntity<ApiResponseDTO<PostmanUserProfileDTO>>> getUserProfile(
+            @PathVariable Long id) {
+        
+        log.info("GET - Fetching user and permissions: {}", id);
+        
+        return ok(postmanService.getUserProfileAsync(id), "User profile fetched successfully");
+    }
+    
+    /**
+     * GET /api/external/postman/async/users/by-role?role=admin - Get users by role without blocking a servlet thread
+     */
+    @GetMapping("/async/users/by-role")
+    public Mono<ResponseEntity<ApiResponseDTO<List<PostmanResponse>>>> getUsersByRoleAsync(
+            @RequestParam String role) {
+        
+        log.info("GET async - Fetching users by role: {}", role);
+        
+        return ok(postmanService.getUsersByRoleAsync(role), "Users by role fetched successfully");
+    }
+    
+    /**
+     * POST /api/external/postman/async/users - Create new user without blocking a servlet thread
+     */
+    @PostMapping("/async/users")
+    public Mono<ResponseEntity<ApiResponseDTO<PostmanResponse>>> createUserAsync(
+            @Valid @RequestBody PostmanRequest request) {
+        
+        log.info("POST async - Creating user: {}", request.getUserPostmanName());
+        
+        return ok(postmanService.createUserAsync(request), "User created successfully");
+    }
+    
+    /**
+     * PUT /api/external/postman/async/users/{id} - Full update user without blocking a servlet thread
+     */
+    @PutMapping("/async/users/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<PostmanResponse>>> updateFullUserAsync(
+            @PathVariable Long id,
+            @Valid @RequestBody PostmanRequest request) {
+        
+        log.info("PUT async - Full update user: {}", id);
+        
+        return ok(postmanService.updateFullUserAsync(id, request), "User updated successfully");
+    }
+    
+    /**
+     * PATCH /api/external/postman/async/users/{id} - Partial update user without blocking a servlet thread
+     */
+    @PatchMapping("/async/users/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<PostmanResponse>>> updatePartialUserAsync(
+            @PathVariable Long id,
+            @RequestBody PostmanRequest request) {
+        
+        log.info("PATCH async - Partial update user: {}", id);
+        
+        return ok(postmanService.updatePartialUserAsync(id, request), "User partially updated successfully");
+    }
+    
+    /**
+     * DELETE /api/external/postman/async/users/{id} - Delete user without blocking a servlet thread
+     */
+    @DeleteMapping("/async/users/{id}")
+    public Mono<ResponseEntity<ApiResponseDTO<Void>>> deleteUserAsync(
+            @PathVariable Long id) {
+        
+        log.info("DELETE async - Deleting user: {}", id);
+        
+        return ok(postmanService.deleteUserAsync(id), "User deleted successfully");
+    }
+    
+    /**
+     * GET /api/external/postman/async/users/{id}/permissions - Get user permissions without blocking a servlet thread
+     */
+    @GetMapping("/async/users/{id}/permissions")
+    public Mono<ResponseEntity<ApiResponseDTO<List<String>>>> getUserPermissionsAsync(
+            @PathVariable Long id) {
+        
+        log.info("GET async - Fetching permissions for user: {}", id);
+        
+        return ok(postmanService.getUserPermissionsAsync(id), "User permissions fetched successfully");
+    }
+    
+    /**
+     * POST /api/external/postman/async/users/{id}/roles - Assign role to user without blocking a servlet thread
+     */
+    @PostMapping("/async/users/{id}/roles")
+    public Mono<ResponseEntity<ApiResponseDTO<PostmanResponse>>> assignRoleAsync(
+            @PathVariable Long id,
+            @RequestParam String role) {
+        
+        log.info("POST async - Assigning role {} to user: {}", role, id);
+        
+        return ok(postmanService.assignRoleAsync(id, role), "Role assigned successfully");
+    }
+    
+    // Streaming variants: one JSON user per line (NDJSON), each written and flushed as soon as it is decoded
+    // from the upstream array, no ApiResponseDTO envelope since the status line is sent with the first user
+    
+    /**
+     * GET /api/external/postman/stream/users - Stream all users as NDJSON
+     */
+    @GetMapping(value = "/stream/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PostmanResponse> streamAllUsers() {
+        
+        log.info("GET stream - Streaming all users from Postman API");
+        
+        return postmanService.streamAllUsers();
+    }
+    
+    /**
+     * GET /api/external/postman/stream/users/by-role?role=admin - Stream users by role as NDJSON
+     */
+    @GetMapping(value = "/stream/users/by-role", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PostmanResponse> streamUsersByRole(
+            @RequestParam String role) {
+        
+        log.info("GET stream - Streaming users by role: {}", role);
+        
+        return postmanService.streamUsersByRole(role);
+    }
+    
+    /**
+     * The Mono completes on a Reactor Netty thread, which has no MDC, so the request ID is read here on the
+     * request thread. An empty result (DELETE) answers with null data, errors go to GlobalExceptionHandler.
+     */
+    private static <T> Mono<ResponseEntity<ApiResponseDTO<T>>> ok(Mono<T> result, String message) {
+        return ok(result, data -> message);
+    }
+    
+    private static <T> Mono<ResponseEntity<ApiResponseDTO<T>>> ok(Mono<T> result, Function<T, String> message) {
+        String requestId = RequestIds.current();
+        return result.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(data -> {
+                    ApiResponseDTO<T> response = ApiResponseDTO.success(message.apply(data.orElse(null)), data.orElse(null));
+                    response.setRequestId(requestId);
+                    return ResponseEntity.ok(response);
+                });
+    }
 }
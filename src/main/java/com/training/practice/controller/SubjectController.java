@@ -1,8 +1,10 @@
 package com.training.practice.controller;
 
 import com.training.practice.dto.ApiResponseDTO;
+import com.training.practice.dto.CursorPageDTO;
 import com.training.practice.dto.SubjectDTO;
 import com.training.practice.dto.SubjectUpdateDTO;
+import com.training.practice.dto.Versioned;
 import com.training.practice.service.FeatureToggleService;
 import com.training.practice.service.SubjectService;
 import jakarta.validation.constraints.Max;
@@ -13,13 +15,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @RestController
 @RequestMapping(value = "/api/subjects")
@@ -34,19 +39,28 @@ public class SubjectController {
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<SubjectDTO>> getSubjectById(
             @PathVariable String id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            WebRequest webRequest) {
 
-        log.info("Fetching subject by ID: {} with request ID: {}", id, requestId);
+        log.info("Fetching subject by ID: {}", id);
+
+        // Conditional GET: answer 304 from the version alone, the subject is never loaded or serialized
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> version = subjectService.getSubjectVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(version.get())) {
+                return null;
+            }
+        }
 
         return subjectService.getSubjectById(id)
                 .map(subject -> {
                     ApiResponseDTO<SubjectDTO> response = ApiResponseDTO.success(subject);
-                    response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
-                    return ResponseEntity.ok(response);
+                    return ResponseEntity.ok()
+                            .eTag(Versioned.tag(subject.getUpdatedAt()))
+                            .cacheControl(CacheControl.noCache().cachePrivate())
+                            .body(response);
                 })
                 .orElseGet(() -> {
                     ApiResponseDTO<SubjectDTO> response = ApiResponseDTO.error("Subject not found with ID: " + id);
-                    response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
                     return ResponseEntity.notFound().build();
                 });
     }
@@ -57,13 +71,12 @@ public class SubjectController {
             @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
             @RequestParam(value = "size", required = false) Integer size,
             @RequestParam(value = "sort", defaultValue = "id") String sortBy,
-            @RequestParam(value = "direction", defaultValue = "ASC") String sortDirection,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "direction", defaultValue = "ASC") String sortDirection) {
 
         int pageSize = size != null ? Math.min(size, featureToggleService.getMaxPageSize()) : featureToggleService.getDefaultPageSize();
 
-        log.info("Fetching all subjects with page: {}, size: {}, sortBy: {}, sortDirection: {}, requestId: {}",
-                page, size, sortBy, sortDirection, requestId);
+        log.info("Fetching all subjects with page: {}, size: {}, sortBy: {}, sortDirection: {}",
+                page, size, sortBy, sortDirection);
 
         try {
             Sort.Direction direction = Sort.Direction.fromString(sortDirection);
@@ -71,13 +84,38 @@ public class SubjectController {
 
             Page<SubjectDTO> subjects = subjectService.getSubjectsWithPagination(pageable);
             ApiResponseDTO<Page<SubjectDTO>> response = ApiResponseDTO.success(subjects);
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error fetching subjects: {}", e.getMessage());
             ApiResponseDTO<Page<SubjectDTO>> response = ApiResponseDTO.error(e.getMessage());
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping(params = "mode=cursor")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDTO<CursorPageDTO<SubjectDTO>>> getAllSubjectsByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", defaultValue = "id") String sortBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String sortDirection) {
+
+        int pageSize = size != null ? Math.min(size, featureToggleService.getMaxPageSize()) : featureToggleService.getDefaultPageSize();
+
+        log.info("Fetching subjects with cursor pagination - after: {}, size: {}, sortBy: {}, sortDirection: {}",
+                after, pageSize, sortBy, sortDirection);
+
+        try {
+            Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+
+            CursorPageDTO<SubjectDTO> subjects = subjectService.getSubjectsWithPagination(after, pageSize, sort);
+            ApiResponseDTO<CursorPageDTO<SubjectDTO>> response = ApiResponseDTO.success(subjects);
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error fetching subjects by cursor: {}", e.getMessage());
+            ApiResponseDTO<CursorPageDTO<SubjectDTO>> response = ApiResponseDTO.error(e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -86,15 +124,13 @@ public class SubjectController {
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<List<SubjectDTO>>> searchSubjects(
             @RequestParam("q") String query,
-            @RequestParam(value = "limit", defaultValue = "50") @Min(1) @Max(100) int limit,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "limit", defaultValue = "50") @Min(1) @Max(100) int limit) {
 
-        log.info("Searching subjects with query: {} and limit: {} with request ID: {}", query, limit, requestId);
+        log.info("Searching subjects with query: {} and limit: {}", query, limit);
 
         List<SubjectDTO> subjects = subjectService.searchSubjectByName(query, limit);
 
         ApiResponseDTO<List<SubjectDTO>> response = ApiResponseDTO.success(subjects);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
 
         return ResponseEntity.ok(response);
     }
@@ -103,13 +139,11 @@ public class SubjectController {
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<SubjectDTO>> updateSubject(
             @PathVariable String id,
-            @Valid @RequestBody SubjectUpdateDTO request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
-        log.info("Updating subject with ID: {} with request ID: {}", id, requestId);
+            @Valid @RequestBody SubjectUpdateDTO request) {
+        log.info("Updating subject with ID: {}", id);
 
         SubjectDTO subjectResponse = subjectService.updateSubject(id, request);
         ApiResponseDTO<SubjectDTO> response = ApiResponseDTO.success("Subject updated successfully", subjectResponse);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         return ResponseEntity.ok(response);
     }
 }
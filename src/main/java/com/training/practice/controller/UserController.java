@@ -1,29 +1,45 @@
 package com.training.practice.controller;
 
+import com.training.practice.config.ExportConfig;
 import com.training.practice.dto.ApiResponseDTO;
+import com.training.practice.dto.CursorPageDTO;
 import com.training.practice.dto.SubjectCreateDTO;
+import com.training.practice.dto.UserBatchResultDTO;
 import com.training.practice.dto.UserCreateDTO;
 import com.training.practice.dto.UserDTO;
+import com.training.practice.dto.UserStatsDTO;
 import com.training.practice.dto.UserUpdateDTO;
 import com.training.practice.entity.User;
+import com.training.practice.exception.UserNotFoundException;
+import com.training.practice.exception.VersionConflictException;
 import com.training.practice.service.FeatureToggleService;
+import com.training.practice.service.UserExportService;
 import com.training.practice.service.UserService;
+import com.training.practice.service.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping(value = "/api/users")
@@ -34,42 +50,69 @@ public class UserController {
     
     private final UserService userService;
     private final FeatureToggleService featureToggleService;
+    private final UserExportService userExportService;
+    private final UserStatsService userStatsService;
+    private final ExportConfig exportConfig;
     
     // CREATE - POST with @RequestBody and @RequestHeader
     @PostMapping
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<UserDTO>> createUser(
             @Valid @RequestBody UserCreateDTO request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
             @RequestHeader(value = "X-Client-Version", defaultValue = "1.0") String clientVersion) {
         
-        log.info("Creating user with request ID: {} and client version: {}", requestId, clientVersion);
+        log.info("Creating user with client version: {}", clientVersion);
         
         UserDTO userResponse = userService.createUser(request);
         ApiResponseDTO<UserDTO> response = ApiResponseDTO.success("User created successfully", userResponse);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    // CREATE - POST a batch of users, items are validated individually and reported per index
+    @PostMapping("/batch")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDTO<List<UserBatchResultDTO>>> createUsers(
+            @RequestBody @NotEmpty @Size(max = 1000) List<UserCreateDTO> requests) {
+        
+        log.info("Creating {} users in batch", requests.size());
+        
+        List<UserBatchResultDTO> results = userService.createUsers(requests);
+        long created = results.stream().filter(UserBatchResultDTO::isSuccess).count();
+        
+        ApiResponseDTO<List<UserBatchResultDTO>> response = ApiResponseDTO.success(
+                String.format("Batch processed: %d created, %d failed", created, results.size() - created), results);
+        
+        return ResponseEntity.status(created > 0 ? HttpStatus.CREATED : HttpStatus.OK).body(response);
+    }
+    
     // READ - GET by ID with @PathVariable
     @GetMapping("/{id}")
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<UserDTO>> getUserById(
             @PathVariable String id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            WebRequest webRequest) {
+        
+        log.info("Fetching user by ID: {}", id);
         
-        log.info("Fetching user by ID: {} with request ID: {}", id, requestId);
+        // Conditional GET: answer 304 from the version alone, the user is never loaded or serialized
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> version = userService.getUserVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(version.get())) {
+                return null;
+            }
+        }
         
         return userService.getUserById(id)
                 .map(user -> {
-                    ApiResponseDTO<UserDTO> response = ApiResponseDTO.success(user);
-                    response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
-                    return ResponseEntity.ok(response);
+                    ApiResponseDTO<UserDTO> response = ApiResponseDTO.success(user.value());
+                    return ResponseEntity.ok()
+                            .eTag(user.version())
+                            .cacheControl(CacheControl.noCache().cachePrivate())
+                            .body(response);
                 })
                 .orElseGet(() -> {
                     ApiResponseDTO<UserDTO> response = ApiResponseDTO.error("User not found with ID: " + id);
-                    response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
                     return ResponseEntity.notFound().build();
                 });
     }
@@ -82,7 +125,7 @@ public class UserController {
             @RequestParam(value = "size", required = false) Integer size,
             @RequestParam(value = "sort", defaultValue = "id") String sortBy,
             @RequestParam(value = "direction", defaultValue = "ASC") String sortDirection,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "include", required = false) Set<String> include) {
         
         // Use config-based default values
         int pageSize = size != null ? Math.min(size, featureToggleService.getMaxPageSize()) : featureToggleService.getDefaultPageSize();
@@ -94,31 +137,76 @@ public class UserController {
             Sort.Direction direction = Sort.Direction.fromString(sortDirection);
             Pageable pageable = PageRequest.of(page, pageSize, Sort.by(direction, sortBy));
             
-            Page<UserDTO> users = userService.getUsersWithPagination(pageable);
+            Page<UserDTO> users = userService.getUsersWithPagination(pageable, includesSubjects(include));
             ApiResponseDTO<Page<UserDTO>> response = ApiResponseDTO.success(users);
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error fetching users: {}", e.getMessage());
             ApiResponseDTO<Page<UserDTO>> response = ApiResponseDTO.error(e.getMessage());
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
             return ResponseEntity.badRequest().body(response);
         }
     }
     
+    // READ - GET all users with keyset (cursor) pagination, no COUNT(*) and flat latency for deep pages
+    @GetMapping(params = "mode=cursor")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDTO<CursorPageDTO<UserDTO>>> getAllUsersByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", defaultValue = "id") String sortBy,
+            @RequestParam(value = "direction", defaultValue = "ASC") String sortDirection,
+            @RequestParam(value = "include", required = false) Set<String> include) {
+        
+        int pageSize = size != null ? Math.min(size, featureToggleService.getMaxPageSize()) : featureToggleService.getDefaultPageSize();
+        
+        log.info("Fetching users with cursor pagination - after: {}, size: {}, sort: {} {}", 
+                after, pageSize, sortBy, sortDirection);
+        
+        try {
+            Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+            
+            CursorPageDTO<UserDTO> users = userService.getUsersWithPagination(after, pageSize, sort, includesSubjects(include));
+            ApiResponseDTO<CursorPageDTO<UserDTO>> response = ApiResponseDTO.success(users);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error fetching users by cursor: {}", e.getMessage());
+            ApiResponseDTO<CursorPageDTO<UserDTO>> response = ApiResponseDTO.error(e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    // EXPORT - GET all users streamed as NDJSON or CSV, rows are written as they are read
+    // Runs as an async request with its own long timeout (custom.export.timeout), rows go straight to the response
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportUsers(
+            @RequestParam(value = "format", defaultValue = "ndjson") String formatName,
+            HttpServletResponse response) {
+        
+        log.info("Exporting users as {}", formatName);
+        
+        UserExportService.ExportFormat format = UserExportService.ExportFormat.fromString(formatName);
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getExtension() + "\"");
+        
+        return new WebAsyncTask<>(exportConfig.getTimeout(), () -> {
+            userExportService.exportUsers(format, response.getOutputStream());
+            return null;
+        });
+    }
+    
     // READ - GET users by department with @RequestParam
     @GetMapping("/department")
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<List<UserDTO>>> getUsersByDepartment(
             @RequestParam("dept") String department,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "include", required = false) Set<String> include) {
         
-        log.info("Fetching users by department: {} with request ID: {}", department, requestId);
+        log.info("Fetching users by department: {}", department);
         
-        List<UserDTO> users = userService.getUsersByDepartment(department);
+        List<UserDTO> users = userService.getUsersByDepartment(department, includesSubjects(include));
         ApiResponseDTO<List<UserDTO>> response = ApiResponseDTO.success(users);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -128,13 +216,12 @@ public class UserController {
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<List<UserDTO>>> getUsersByStatus(
             @PathVariable User.UserStatus status,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "include", required = false) Set<String> include) {
         
-        log.info("Fetching users by status: {} with request ID: {}", status, requestId);
+        log.info("Fetching users by status: {}", status);
         
-        List<UserDTO> users = userService.getUsersByStatus(status);
+        List<UserDTO> users = userService.getUsersByStatus(status, includesSubjects(include));
         ApiResponseDTO<List<UserDTO>> response = ApiResponseDTO.success(users);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -145,11 +232,10 @@ public class UserController {
     public ResponseEntity<ApiResponseDTO<List<UserDTO>>> getUsersByDepartmentAndStatus(
             @PathVariable String department,
             @PathVariable User.UserStatus status,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
-        log.info("Fetching users by department: {} and status: {} with request ID: {}", department, status, requestId);
-        List<UserDTO> users = userService.getUsersByDepartmentAndStatus(department, status);
+            @RequestParam(value = "include", required = false) Set<String> include) {
+        log.info("Fetching users by department: {} and status: {}", department, status);
+        List<UserDTO> users = userService.getUsersByDepartmentAndStatus(department, status, includesSubjects(include));
         ApiResponseDTO<List<UserDTO>> response = ApiResponseDTO.success(users);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -160,18 +246,13 @@ public class UserController {
     public ResponseEntity<ApiResponseDTO<List<UserDTO>>> searchUsers(
             @RequestParam("q") String query,
             @RequestParam(value = "limit", defaultValue = "50") @Min(1) @Max(100) int limit,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "include", required = false) Set<String> include) {
         
-        log.info("Searching users with query: {} and limit: {} with request ID: {}", query, limit, requestId);
+        log.info("Searching users with query: {} and limit: {}", query, limit);
         
-        List<UserDTO> users = userService.searchUsersByName(query);
-        // Limit results
-        List<UserDTO> limitedUsers = users.stream()
-                .limit(limit)
-                .toList();
+        List<UserDTO> users = userService.searchUsersByName(query, limit, includesSubjects(include));
         
-        ApiResponseDTO<List<UserDTO>> response = ApiResponseDTO.success(limitedUsers);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
+        ApiResponseDTO<List<UserDTO>> response = ApiResponseDTO.success(users);
         
         return ResponseEntity.ok(response);
     }
@@ -182,14 +263,12 @@ public class UserController {
     public ResponseEntity<ApiResponseDTO<UserDTO>> updateUser(
             @PathVariable String id,
             @Valid @RequestBody UserUpdateDTO request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
             @RequestHeader(value = "X-Client-Version", defaultValue = "1.0") String clientVersion) {
         
-        log.info("Updating user ID: {} with request ID: {} and client version: {}", id, requestId, clientVersion);
+        log.info("Updating user ID: {} with client version: {}", id, clientVersion);
         
         UserDTO userResponse = userService.updateUser(id, request);
         ApiResponseDTO<UserDTO> response = ApiResponseDTO.success("User updated successfully", userResponse);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -200,24 +279,26 @@ public class UserController {
     public ResponseEntity<ApiResponseDTO<UserDTO>> updateUserStatus(
             @PathVariable String id,
             @RequestParam("status") User.UserStatus status,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam(value = "version", required = false) Long version) {
         
-        log.info("Updating user status for ID: {} to status: {} with request ID: {}", id, status, requestId);
+        log.info("Updating user status for ID: {} to status: {}", id, status);
         
         try {
-            UserUpdateDTO request = UserUpdateDTO.builder()
-                    .status(status)
-                    .build();
-            
-            UserDTO userResponse = userService.updateUser(id, request);
+            UserDTO userResponse = userService.updateUserStatus(id, status, version);
             ApiResponseDTO<UserDTO> response = ApiResponseDTO.success("User status updated successfully", userResponse);
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
             
             return ResponseEntity.ok(response);
+        } catch (UserNotFoundException e) {
+            log.warn("User status update for missing user: {}", e.getMessage());
+            ApiResponseDTO<UserDTO> response = ApiResponseDTO.error(e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (VersionConflictException e) {
+            log.warn("Conflicting user status update: {}", e.getMessage());
+            ApiResponseDTO<UserDTO> response = ApiResponseDTO.error(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (RuntimeException e) {
             log.error("Error updating user status: {}", e.getMessage());
             ApiResponseDTO<UserDTO> response = ApiResponseDTO.error(e.getMessage());
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -226,13 +307,11 @@ public class UserController {
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<UserDTO>> addNewSubjectToUser(
             @PathVariable String id,
-            @Valid @RequestBody SubjectCreateDTO request,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
-        log.info("Adding new subject to user ID: {} with request ID: {}", id, requestId);
+            @Valid @RequestBody SubjectCreateDTO request) {
+        log.info("Adding new subject to user ID: {}", id);
         
         UserDTO userResponse = userService.addNewSubjectToUser(id, request);
         ApiResponseDTO<UserDTO> response = ApiResponseDTO.success("Subject added to user successfully", userResponse);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
@@ -242,27 +321,23 @@ public class UserController {
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<Void>> deleteUser(
             @PathVariable String id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId,
             @RequestHeader(value = "X-Confirm-Delete", defaultValue = "false") boolean confirmDelete) {
         
-        log.info("Deleting user ID: {} with request ID: {} and confirm: {}", id, requestId, confirmDelete);
+        log.info("Deleting user ID: {} with confirm: {}", id, confirmDelete);
         
         if (!confirmDelete) {
             ApiResponseDTO<Void> response = ApiResponseDTO.error("Delete confirmation required. Send X-Confirm-Delete: true header");
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
             return ResponseEntity.badRequest().body(response);
         }
         
         try {
             userService.deleteUser(id);
             ApiResponseDTO<Void> response = ApiResponseDTO.success("User deleted successfully", null);
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
             
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             log.error("Error deleting user: {}", e.getMessage());
             ApiResponseDTO<Void> response = ApiResponseDTO.error(e.getMessage());
-            response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -271,15 +346,30 @@ public class UserController {
     @GetMapping("/stats/count")
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<Long>> getUserCountByStatus(
-            @RequestParam("status") User.UserStatus status,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            @RequestParam("status") User.UserStatus status) {
         
-        log.info("Getting user count by status: {} with request ID: {}", status, requestId);
+        log.info("Getting user count by status: {}", status);
         
         long count = userService.getUserCountByStatus(status);
         ApiResponseDTO<Long> response = ApiResponseDTO.success("User count retrieved successfully", count);
-        response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
         
         return ResponseEntity.ok(response);
     }
+    
+    // STATISTICS - GET counts for every status x department, served from the in-memory aggregate
+    @GetMapping("/stats")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDTO<UserStatsDTO>> getUserStats() {
+        
+        log.info("Getting user statistics");
+        
+        ApiResponseDTO<UserStatsDTO> response = ApiResponseDTO.success("User statistics retrieved successfully", userStatsService.getStats());
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    // Subjects are only loaded when requested with include=subjects
+    private static boolean includesSubjects(Set<String> include) {
+        return include != null && include.contains("subjects");
+    }
 }
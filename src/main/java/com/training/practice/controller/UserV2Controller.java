@@ -1,15 +1,17 @@
 package com.training.practice.controller;
 
-import java.util.UUID;
+import java.util.Optional;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.training.practice.dto.ApiResponseDTO;
 import com.training.practice.dto.UserV2DTO;
@@ -31,19 +33,28 @@ public class UserV2Controller {
     @ResponseBody
     public ResponseEntity<ApiResponseDTO<UserV2DTO>> getUserById(
             @PathVariable String id,
-            @RequestHeader(value = "X-Request-ID", required = false) String requestId) {
+            WebRequest webRequest) {
         
-        log.info("Fetching user by ID: {} with request ID: {}", id, requestId);
+        log.info("Fetching user by ID: {}", id);
+        
+        // Conditional GET: answer 304 from the version alone, the user is never loaded or serialized
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> version = userService.getUserVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(version.get())) {
+                return null;
+            }
+        }
         
         return userService.getUserByIdV2(id)
                 .map(user -> {
-                    ApiResponseDTO<UserV2DTO> response = ApiResponseDTO.success(user);
-                    response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
-                    return ResponseEntity.ok(response);
+                    ApiResponseDTO<UserV2DTO> response = ApiResponseDTO.success(user.value());
+                    return ResponseEntity.ok()
+                            .eTag(user.version())
+                            .cacheControl(CacheControl.noCache().cachePrivate())
+                            .body(response);
                 })
                 .orElseGet(() -> {
                     ApiResponseDTO<UserV2DTO> response = ApiResponseDTO.error("User not found with ID: " + id);
-                    response.setRequestId(requestId != null ? requestId : UUID.randomUUID().toString());
                     return ResponseEntity.notFound().build();
                 });
     }
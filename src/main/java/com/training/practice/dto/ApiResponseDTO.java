@@ -1,5 +1,7 @@
 package com.training.practice.dto;
 
+import com.training.practice.logging.RequestIds;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,7 +19,7 @@ public class ApiResponseDTO<T> {
     private String message;
     private T data; // Generic type for response data
     private LocalDateTime timestamp;
-    private String requestId;
+    private String requestId; // Filled from the current request by the factory methods
     
     public static <T> ApiResponseDTO<T> success(T data) {
         return ApiResponseDTO.<T>builder()
@@ -25,6 +27,7 @@ public class ApiResponseDTO<T> {
                 .message("Operation successful")
                 .data(data)
                 .timestamp(LocalDateTime.now())
+                .requestId(RequestIds.current())
                 .build();
     }
     
@@ -34,6 +37,7 @@ public class ApiResponseDTO<T> {
                 .message(message)
                 .data(data)
                 .timestamp(LocalDateTime.now())
+                .requestId(RequestIds.current())
                 .build();
     }
     
@@ -42,6 +46,7 @@ public class ApiResponseDTO<T> {
                 .success(false)
                 .message(message)
                 .timestamp(LocalDateTime.now())
+                .requestId(RequestIds.current())
                 .build();
     }
 }
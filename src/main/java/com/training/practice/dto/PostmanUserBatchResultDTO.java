@@ -0,0 +1,20 @@
+package com.training.practice.dto;
+
+import com.training.practice.dto.backend.PostmanResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostmanUserBatchResultDTO {
+    
+    private Long id;
+    private boolean success;
+    private PostmanResponse user;
+    private String error;
+}
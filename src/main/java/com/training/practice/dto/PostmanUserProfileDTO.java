@@ -0,0 +1,20 @@
+package com.training.practice.dto;
+
+import java.util.List;
+
+import com.training.practice.dto.backend.PostmanResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostmanUserProfileDTO {
+    
+    private PostmanResponse user;
+    private List<String> permissions;
+}
@@ -0,0 +1,19 @@
+package com.training.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResultDTO {
+    
+    private int index; // Position of the item in the request body
+    private String email;
+    private boolean success;
+    private String id;
+    private String error;
+}
@@ -23,4 +23,5 @@ public class UserDTO {
     private List<SubjectDTO> subjects;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // Send back with status changes/updates to detect concurrent modifications
 }
@@ -0,0 +1,22 @@
+package com.training.practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatsDTO {
+    
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byDepartment;
+    private Map<String, Map<String, Long>> byDepartmentAndStatus;
+    private LocalDateTime reconciledAt; // Last time the aggregate was rebuilt from the database
+}
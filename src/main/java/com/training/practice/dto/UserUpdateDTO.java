@@ -17,4 +17,5 @@ public class UserUpdateDTO {
     private String phone;
     private String department;
     private User.UserStatus status;
+    private Long version; // Optional, the update is rejected with 409 when the user has changed since
 }
@@ -0,0 +1,31 @@
+package com.training.practice.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A response body and the version (ETag) of the state it was read from. Keeping both in one
+ * value means a client never stores a body under the ETag of a newer state.
+ */
+public record Versioned<T>(T value, String version) {
+
+    public static String tag(LocalDateTime updatedAt) {
+        return micros(updatedAt);
+    }
+
+    /**
+     * Strong validator for a resource embedding children: its own and the children's latest change,
+     * plus the child count so a removed child changes the tag too.
+     */
+    public static String tag(LocalDateTime updatedAt, LocalDateTime childrenUpdatedAt, long children) {
+        return micros(updatedAt) + "-" + micros(childrenUpdatedAt) + "-" + children;
+    }
+
+    // Columns are datetime(6), so microseconds is all the precision a reloaded value has
+    private static String micros(LocalDateTime time) {
+        if (time == null) {
+            return "0";
+        }
+        return Long.toString(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000, 36);
+    }
+}
@@ -4,9 +4,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.training.practice.id.UuidV7;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.CascadeType;
@@ -14,15 +18,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 // Ignore timestamps to hide them, keep subjects visible 
 @JsonIgnoreProperties(value = {"createdAt", "updatedAt"}, ignoreUnknown = true)
@@ -34,9 +38,10 @@ import java.util.List;
 @AllArgsConstructor
 public class User {
     
+    // Stored as char(36) or binary(16) depending on hibernate.type.preferred_uuid_jdbc_type
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @UuidV7
+    private UUID id;
     
     @Column(nullable = false, length = 100)
     private String name;
@@ -54,7 +59,9 @@ public class User {
     @Column(length = 20)
     private UserStatus status;
 
+    // Paged reads can't fetch-join a collection, so initialize subjects for a whole page with one IN query
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<Subject> subjects = new ArrayList<>();
     
@@ -65,6 +72,12 @@ public class User {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
+    // Optimistic lock, rows that existed before the column was added start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     public enum UserStatus {
         ACTIVE, INACTIVE, SUSPENDED
     }
@@ -0,0 +1,43 @@
+package com.training.practice.event;
+
+import com.training.practice.entity.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by UserService whenever a user is created, updated or deleted.
+ * Listeners should use @TransactionalEventListener so they only see committed changes.
+ */
+@Data
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    private String userId;
+    private String name;
+    private ChangeType type;
+    private String department;
+    private User.UserStatus status;
+    // Values before the change, null for CREATED
+    private String previousDepartment;
+    private User.UserStatus previousStatus;
+
+    public static UserChangedEvent created(User user) {
+        return new UserChangedEvent(user.getId().toString(), user.getName(), ChangeType.CREATED,
+                user.getDepartment(), user.getStatus(), null, null);
+    }
+
+    public static UserChangedEvent updated(User user, String previousDepartment, User.UserStatus previousStatus) {
+        return new UserChangedEvent(user.getId().toString(), user.getName(), ChangeType.UPDATED,
+                user.getDepartment(), user.getStatus(), previousDepartment, previousStatus);
+    }
+
+    public static UserChangedEvent deleted(User user) {
+        return new UserChangedEvent(user.getId().toString(), user.getName(), ChangeType.DELETED,
+                null, null, user.getDepartment(), user.getStatus());
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,20 @@
+package com.training.practice.exception;
+
+/**
+ * Exception thrown when a request is turned away because all bulkhead permits are in use
+ */
+public class BulkheadFullException extends RuntimeException {
+    
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+    
+    public BulkheadFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    public static BulkheadFullException database(int maxConcurrent) {
+        return new BulkheadFullException("Too many concurrent database requests (limit " + maxConcurrent
+                + "), please retry shortly");
+    }
+}
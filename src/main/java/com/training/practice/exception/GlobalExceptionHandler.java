@@ -1,7 +1,10 @@
 package com.training.practice.exception;
 
 import com.training.practice.dto.ApiResponseDTO;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,7 +13,6 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +30,6 @@ public class GlobalExceptionHandler {
         log.error("User not found: {}", ex.getMessage());
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error(ex.getMessage());
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
@@ -41,7 +42,6 @@ public class GlobalExceptionHandler {
         log.error("Subject not found: {}", ex.getMessage());
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error(ex.getMessage());
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
@@ -54,11 +54,78 @@ public class GlobalExceptionHandler {
         log.error("Email already exists: {}", ex.getMessage());
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error(ex.getMessage());
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleVersionConflict(
+            VersionConflictException ex, 
+            HttpServletRequest request) {
+        
+        log.warn("Version conflict: {}", ex.getMessage());
+        
+        ApiResponseDTO<Void> response = ApiResponseDTO.error(ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // @Version check failed on flush, another transaction updated the same row first
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, 
+            HttpServletRequest request) {
+        
+        log.warn("Optimistic locking failure: {}", ex.getMessage());
+        
+        ApiResponseDTO<Void> response = ApiResponseDTO.error("The resource was modified concurrently, reload it and retry");
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleBulkheadFull(
+            BulkheadFullException ex, 
+            HttpServletRequest request) {
+        
+        log.warn("Request rejected by bulkhead: {}", ex.getMessage());
+        
+        ApiResponseDTO<Void> response = ApiResponseDTO.error(ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    // Upstream circuit open, fail fast instead of queueing behind a dependency that is down
+    @ExceptionHandler(CallNotPermittedException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleCircuitOpen(
+            CallNotPermittedException ex, 
+            HttpServletRequest request) {
+        
+        log.warn("Upstream call rejected by circuit breaker: {}", ex.getMessage());
+        
+        ApiResponseDTO<Void> response = ApiResponseDTO.error("Upstream service temporarily unavailable");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "10")
+                .body(response);
+    }
+    
+    @ExceptionHandler(io.github.resilience4j.bulkhead.BulkheadFullException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleUpstreamBulkheadFull(
+            io.github.resilience4j.bulkhead.BulkheadFullException ex, 
+            HttpServletRequest request) {
+        
+        log.warn("Upstream call rejected by bulkhead: {}", ex.getMessage());
+        
+        ApiResponseDTO<Void> response = ApiResponseDTO.error("Too many concurrent upstream calls");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+    
     @ExceptionHandler(SubjectValidationException.class)
     public ResponseEntity<ApiResponseDTO<Void>> handleSubjectValidation(
             SubjectValidationException ex, 
@@ -67,7 +134,6 @@ public class GlobalExceptionHandler {
         log.error("Subject validation failed: {}", ex.getMessage());
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error(ex.getMessage());
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
@@ -86,7 +152,6 @@ public class GlobalExceptionHandler {
         log.error("Validation failed: {}", errorMessage);
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error("Validation failed: " + errorMessage);
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
@@ -104,7 +169,6 @@ public class GlobalExceptionHandler {
         log.error("Constraint validation failed: {}", errorMessage);
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error("Validation failed: " + errorMessage);
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
@@ -117,7 +181,6 @@ public class GlobalExceptionHandler {
         log.error("Illegal argument: {}", ex.getMessage());
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error("Invalid request: " + ex.getMessage());
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
@@ -130,7 +193,6 @@ public class GlobalExceptionHandler {
         log.error("Runtime exception occurred: {}", ex.getMessage(), ex);
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error("An error occurred: " + ex.getMessage());
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
@@ -143,13 +205,7 @@ public class GlobalExceptionHandler {
         log.error("Unexpected error occurred: {}", ex.getMessage(), ex);
         
         ApiResponseDTO<Void> response = ApiResponseDTO.error("An unexpected error occurred");
-        response.setRequestId(getRequestId(request));
         
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
-
-    private String getRequestId(HttpServletRequest request) {
-        String requestId = request.getHeader("X-Request-ID");
-        return requestId != null ? requestId : UUID.randomUUID().toString();
-    }
 }
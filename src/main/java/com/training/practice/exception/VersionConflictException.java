@@ -0,0 +1,20 @@
+package com.training.practice.exception;
+
+/**
+ * Exception thrown when a resource was modified since the client (or this request) read it
+ */
+public class VersionConflictException extends RuntimeException {
+    
+    public VersionConflictException(String message) {
+        super(message);
+    }
+    
+    public VersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    public static VersionConflictException forUser(String id, Long expectedVersion) {
+        return new VersionConflictException("User with ID: " + id + " was modified concurrently, expected version: "
+                + expectedVersion + ". Reload the user and retry");
+    }
+}
@@ -0,0 +1,21 @@
+package com.training.practice.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the annotated java.util.UUID id with {@link UuidV7Generator} before insert.
+ * Replaces {@code @GeneratedValue(strategy = GenerationType.UUID)}, whose random (v4) ids
+ * land all over the primary key index.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,25 @@
+package com.training.practice.id;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public final class Uuids {
+
+    private Uuids() {
+    }
+
+    /**
+     * Parses an id taken from the API. A malformed id can't match any row, so it is returned
+     * as empty and callers answer 404 just as they would for an unknown id.
+     */
+    public static Optional<UUID> parse(String id) {
+        if (id == null || id.length() != 36) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
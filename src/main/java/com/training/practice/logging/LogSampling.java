@@ -0,0 +1,46 @@
+package com.training.practice.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runtime switches for application logging. Logback creates {@link ApplicationLogTurboFilter} outside
+ * of Spring, so the current settings live here and are pushed in by FeatureToggleService.
+ */
+public final class LogSampling {
+    
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+    
+    private static volatile boolean enabled = true;
+    private static volatile double sampleRate = 1.0;
+    
+    private LogSampling() {
+    }
+    
+    public static void configure(boolean enabled, double sampleRate) {
+        LogSampling.enabled = enabled;
+        LogSampling.sampleRate = sampleRate;
+    }
+    
+    /**
+     * Decides once per request whether its INFO/DEBUG lines are written, so a sampled request is logged completely.
+     */
+    static void sampleCurrentRequest() {
+        double rate = sampleRate;
+        SAMPLED.set(rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+    
+    static void clear() {
+        SAMPLED.remove();
+    }
+    
+    /**
+     * Outside of a request (startup, scheduled jobs, async work) only the global switch applies.
+     */
+    static boolean isSuppressed() {
+        if (!enabled) {
+            return true;
+        }
+        Boolean sampled = SAMPLED.get();
+        return sampled != null && !sampled;
+    }
+}
@@ -0,0 +1,48 @@
+package com.training.practice.logging;
+
+import java.io.IOException;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Assigns the request ID once per request, before anything logs. It is put into the MDC for log lines,
+ * ApiResponseDTO and outbound PostmanClient calls, and echoed in the X-Request-ID response header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+    
+    private static final String ATTRIBUTE = RequestIdFilter.class.getName() + ".requestId";
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // An async redispatch runs on another thread but keeps the ID of the original request
+        String requestId = (String) request.getAttribute(ATTRIBUTE);
+        if (requestId == null) {
+            requestId = RequestIds.resolve(request.getHeader(RequestIds.HEADER));
+            request.setAttribute(ATTRIBUTE, requestId);
+            response.setHeader(RequestIds.HEADER, requestId);
+        }
+        MDC.put(RequestIds.MDC_KEY, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(RequestIds.MDC_KEY);
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.training.practice.logging;
+
+import org.slf4j.MDC;
+
+import com.training.practice.id.UuidV7Generator;
+
+/**
+ * The request ID of the current request, assigned once by {@link RequestIdFilter} and kept in the MDC.
+ */
+public final class RequestIds {
+    
+    public static final String HEADER = "X-Request-ID";
+    public static final String MDC_KEY = "requestId";
+    
+    private static final int MAX_LENGTH = 64;
+    
+    private RequestIds() {
+    }
+    
+    /**
+     * Returns null outside of a request, e.g. on startup or scheduled jobs.
+     */
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+    
+    /**
+     * Keeps a caller supplied ID when it is safe to log and echo back, otherwise generates one. UUID v7 comes
+     * from a counter and ThreadLocalRandom, unlike UUID.randomUUID() it never touches the shared SecureRandom.
+     */
+    static String resolve(String supplied) {
+        return isValid(supplied) ? supplied : UuidV7Generator.next().toString();
+    }
+    
+    private static boolean isValid(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            if (!(Character.isLetterOrDigit(c) && c < 128) && c != '-' && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
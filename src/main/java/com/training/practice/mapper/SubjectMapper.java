@@ -10,6 +10,7 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
 import com.training.practice.dto.SubjectDTO;
 import com.training.practice.dto.SubjectCreateDTO;
 import com.training.practice.entity.Subject;
+import com.training.practice.repository.projection.SubjectRow;
 
 @Mapper(componentModel = "spring", 
         nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS,
@@ -17,11 +18,15 @@ import com.training.practice.entity.Subject;
 public interface SubjectMapper {
     // Entity -> DTO (for response purposes) - timestamps already excluded from DTO
     SubjectDTO toDTO(Subject subject);
+
+    // Projection -> DTO (read endpoints)
+    SubjectDTO toDTO(SubjectRow row);
     
     // DTO -> Entity (for create operations)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "user", ignore = true)
     Subject toEntity(SubjectDTO dto);
     
@@ -29,6 +34,7 @@ public interface SubjectMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "user", ignore = true)
     Subject createDTOToEntity(SubjectCreateDTO dto);
 
@@ -36,6 +42,7 @@ public interface SubjectMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "user", ignore = true)
     void updateEntityFromUpdateDTO(SubjectUpdateDTO dto, @MappingTarget Subject entity);
 }
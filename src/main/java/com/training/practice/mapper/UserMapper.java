@@ -10,6 +10,8 @@ import com.training.practice.dto.UserDTO;
 import com.training.practice.dto.UserUpdateDTO;
 import com.training.practice.dto.UserV2DTO;
 import com.training.practice.entity.User;
+import com.training.practice.repository.projection.UserNameRow;
+import com.training.practice.repository.projection.UserRow;
 
 @Mapper(componentModel = "spring", 
         nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS, // check source object for null values
@@ -19,12 +21,25 @@ public interface UserMapper {
     // Entity -> DTO (exclude createdAt, updatedAt - for response purposes)
     UserDTO toDTO(User user);
 
+    // Entity -> DTO without touching the lazy subjects collection (no extra SELECT per user)
+    @Mapping(target = "subjects", ignore = true)
+    UserDTO toSummaryDTO(User user);
+
     UserV2DTO toV2DTO(User user);
 
+    // Projection -> DTO, subjects are attached from a separate SubjectRow query
+    @Mapping(target = "subjects", ignore = true)
+    UserDTO toDTO(UserRow row);
+
+    @Mapping(target = "email", ignore = true)
+    @Mapping(target = "subjects", ignore = true)
+    UserV2DTO toV2DTO(UserNameRow row);
+
     // DTO -> Entity (for create operations)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "subjects", ignore = true)
     User toEntity(UserDTO userDTO);
     
@@ -32,6 +47,7 @@ public interface UserMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "subjects", ignore = true)
     void updateEntityFromUpdateDTO(UserUpdateDTO dto, @MappingTarget User entity);
 }
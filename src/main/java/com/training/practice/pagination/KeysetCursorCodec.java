@@ -0,0 +1,107 @@
+package com.training.practice.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the opaque "after" token used by keyset (cursor) pagination.
+ * The token carries the sort it was issued for and the key values (sort key + id)
+ * of the last row of the previous page.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetCursorCodec {
+
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private final ObjectMapper objectMapper;
+
+    public String encode(Sort sort, ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded as a cursor");
+        }
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        keyset.getKeys().forEach((key, value) -> keys.put(key, value != null ? value.toString() : null));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new CursorToken(sort.toString(), keys));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode cursor", e);
+        }
+    }
+
+    public KeysetScrollPosition decode(String cursor, Sort sort, Class<?> entityType) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        CursorToken token;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            token = objectMapper.readValue(new String(json, StandardCharsets.UTF_8), CursorToken.class);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+
+        // A cursor is only meaningful for the ordering it was issued with
+        if (!sort.toString().equals(token.getSort())) {
+            throw new IllegalArgumentException("Cursor was issued for sort '" + token.getSort() + "', not '" + sort + "'");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        token.getKeys().forEach((key, value) -> keys.put(key, convert(entityType, key, value)));
+        return ScrollPosition.forward(keys);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object convert(Class<?> entityType, String property, String value) {
+        Field field = ReflectionUtils.findField(entityType, property);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown cursor property: " + property);
+        }
+        if (value == null) {
+            return null;
+        }
+
+        Class<?> type = field.getType();
+        try {
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            return CONVERSION_SERVICE.convert(value, type);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor value for " + property + ": " + value);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CursorToken {
+        private String sort;
+        private Map<String, String> keys;
+    }
+}
@@ -1,19 +1,49 @@
 package com.training.practice.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.training.practice.entity.Subject;
+import com.training.practice.repository.projection.SubjectRow;
 
 @Repository
-public interface SubjectRepository extends JpaRepository<Subject, String> {
+public interface SubjectRepository extends JpaRepository<Subject, UUID> {
+    // Read endpoints select exactly the DTO columns, s.user.id reads the FK column without a join
+    String SUBJECT_ROW = "SELECT new com.training.practice.repository.projection.SubjectRow("
+            + "s.id, s.user.id, s.name, s.description, s.code, s.createdAt, s.updatedAt) FROM Subject s";
+
     Optional<Subject> findByName(String name);
     List<Subject> findByCode(String code);
     List<Subject> findByDescriptionContainingIgnoreCase(String description);
-    List<Subject> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    @Query(SUBJECT_ROW + " WHERE s.id = :id")
+    Optional<SubjectRow> findRowById(@Param("id") UUID id);
+    // ETag input only, answers conditional GETs without reading the subject
+    @Query("SELECT s.updatedAt FROM Subject s WHERE s.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+    @Query(value = SUBJECT_ROW, countQuery = "SELECT COUNT(s) FROM Subject s")
+    Page<SubjectRow> findAllRows(Pageable pageable);
+    @Query(SUBJECT_ROW)
+    List<SubjectRow> findAllRows();
+    // Subjects of a whole page of users in one round trip
+    @Query(SUBJECT_ROW + " WHERE s.user.id IN :userIds")
+    List<SubjectRow> findRowsByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+    @Query(SUBJECT_ROW + " WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<SubjectRow> findRowsByNameContaining(@Param("name") String name, Pageable pageable);
+    // Keyset (seek) pagination - WHERE (sort key, id) > last seen row, no COUNT(*) and no OFFSET scan
+    Window<SubjectRow> findRowsBy(ScrollPosition position, Sort sort, Limit limit);
 
 }
@@ -1,26 +1,106 @@
 package com.training.practice.repository;
 
 import com.training.practice.entity.User;
+import com.training.practice.repository.projection.UserNameRow;
+import com.training.practice.repository.projection.UserRow;
+import com.training.practice.repository.projection.UserVersionRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
-    
+public interface UserRepository extends JpaRepository<User, UUID> {
+
+    // Read endpoints select exactly the DTO columns, no managed entities
+    String USER_ROW = "SELECT new com.training.practice.repository.projection.UserRow("
+            + "u.id, u.name, u.email, u.phone, u.department, u.status, u.createdAt, u.updatedAt, u.version) FROM User u";
+
     Optional<User> findByEmail(String email);
     List<User> findByDepartment(String department);
     List<User> findByStatus(User.UserStatus status);
     List<User> findByNameContainingIgnoreCase(String name);
     // @Query("SELECT u FROM User u WHERE u.department = :department AND u.status = :status")
-    // List<User> findByDepartmentAndStatus(@Param("department") String department, 
+    // List<User> findByDepartmentAndStatus(@Param("department") String department,
     //                                    @Param("status") User.UserStatus status);
     List<User> findByDepartmentAndStatus(String department, User.UserStatus status);
     Page<User> findByDepartment(String department, Pageable pageable);
+    @Query(USER_ROW + " WHERE u.id = :id")
+    Optional<UserRow> findRowById(@Param("id") UUID id);
+    @Query("SELECT new com.training.practice.repository.projection.UserNameRow(u.id, u.name, u.updatedAt) FROM User u WHERE u.id = :id")
+    Optional<UserNameRow> findNameRowById(@Param("id") UUID id);
+    // ETag inputs only, answers conditional GETs without reading the user's columns or subjects
+    @Query("SELECT new com.training.practice.repository.projection.UserVersionRow(u.updatedAt, MAX(s.updatedAt), COUNT(s.id)) "
+            + "FROM User u LEFT JOIN u.subjects s WHERE u.id = :id GROUP BY u.id, u.updatedAt")
+    Optional<UserVersionRow> findVersionById(@Param("id") UUID id);
+    @Query(USER_ROW + " WHERE u.id IN :ids")
+    List<UserRow> findRowsByIdIn(@Param("ids") Collection<UUID> ids);
+    @Query(USER_ROW)
+    List<UserRow> findAllRows();
+    @Query(value = USER_ROW, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserRow> findAllRows(Pageable pageable);
+    @Query(USER_ROW + " WHERE u.department = :department")
+    List<UserRow> findRowsByDepartment(@Param("department") String department);
+    @Query(USER_ROW + " WHERE u.status = :status")
+    List<UserRow> findRowsByStatus(@Param("status") User.UserStatus status);
+    @Query(USER_ROW + " WHERE u.department = :department AND u.status = :status")
+    List<UserRow> findRowsByDepartmentAndStatus(@Param("department") String department,
+                                                @Param("status") User.UserStatus status);
+    @Query(USER_ROW + " WHERE LOWER(u.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<UserRow> findRowsByNameContaining(@Param("name") String name, Pageable pageable);
+    // Keyset (seek) pagination - WHERE (sort key, id) > last seen row, no COUNT(*) and no OFFSET scan
+    Window<UserRow> findRowsBy(ScrollPosition position, Sort sort, Limit limit);
+    // Forward-only cursor for exports, MySQL Connector/J only streams rows with fetch size Integer.MIN_VALUE
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(USER_ROW)
+    Stream<UserRow> streamAllRows();
+    // Only id and name, used to (re)build the in-memory name index
+    List<NameView> findAllNamesBy();
     long countByStatus(User.UserStatus status);
+    // All status x department counts in one grouped query
+    @Query("SELECT u.department AS department, u.status AS status, COUNT(u) AS total FROM User u GROUP BY u.department, u.status")
+    List<DepartmentStatusCount> countGroupedByDepartmentAndStatus();
     boolean existsByEmail(String email);
+    // Compare-and-set status change in one statement, matches no row once the version has moved on
+    @Modifying
+    @Query("UPDATE User u SET u.status = :status, u.version = u.version + 1, u.updatedAt = :updatedAt "
+            + "WHERE u.id = :id AND u.version = :version")
+    int updateStatus(@Param("id") UUID id,
+                     @Param("status") User.UserStatus status,
+                     @Param("version") long version,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    // One round trip to check a whole batch of emails
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    interface DepartmentStatusCount {
+        String getDepartment();
+        User.UserStatus getStatus();
+        long getTotal();
+    }
+
+    interface NameView {
+        UUID getId();
+        String getName();
+    }
 }
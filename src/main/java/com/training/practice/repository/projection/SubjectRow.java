@@ -0,0 +1,18 @@
+package com.training.practice.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Subject columns returned by the read endpoints. userId is read from the foreign key column
+ * (no join) so subjects of many users can be fetched in one query and grouped in memory.
+ */
+public record SubjectRow(
+        UUID id,
+        UUID userId,
+        String name,
+        String description,
+        String code,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
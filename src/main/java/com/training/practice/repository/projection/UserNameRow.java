@@ -0,0 +1,8 @@
+package com.training.practice.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Only what the V2 representation returns besides subjects, updatedAt feeds its ETag
+public record UserNameRow(UUID id, String name, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,22 @@
+package com.training.practice.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.training.practice.entity.User;
+
+/**
+ * User columns returned by the read endpoints, selected with a constructor expression
+ * so no entity is hydrated, snapshotted or tracked by the persistence context.
+ */
+public record UserRow(
+        UUID id,
+        String name,
+        String email,
+        String phone,
+        String department,
+        User.UserStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version) {
+}
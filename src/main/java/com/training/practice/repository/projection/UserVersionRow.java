@@ -0,0 +1,7 @@
+package com.training.practice.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Inputs of a user's ETag, read with one aggregate query instead of loading the user and its subjects
+public record UserVersionRow(LocalDateTime updatedAt, LocalDateTime subjectsUpdatedAt, Long subjects) {
+}
@@ -0,0 +1,117 @@
+package com.training.practice.resilience;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.service.annotation.DeleteExchange;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.PutExchange;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Wraps every method of an @HttpExchange client in Retry(CircuitBreaker(Bulkhead(call))), so each retry
+ * attempt needs a bulkhead permit and counts towards the breaker. Instances are named prefix-methodName
+ * and configured under resilience4j.* in application.yml, methods without their own entry use the default
+ * config. Blocking and reactive clients with the same method names share the same instances. Only
+ * idempotent exchanges (GET, PUT, DELETE) returning a single value are retried, POST and PATCH are sent
+ * at most once and Flux streams are never resubscribed.
+ */
+public class ResilientClientProxy implements InvocationHandler {
+    
+    private final Object target;
+    private final String prefix;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+    private final Map<Method, Guard> guards = new ConcurrentHashMap<>();
+    
+    private ResilientClientProxy(Object target, String prefix, CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry, RetryRegistry retryRegistry) {
+        this.target = target;
+        this.prefix = prefix;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.retryRegistry = retryRegistry;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> clientType, T target, String prefix, CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry, RetryRegistry retryRegistry) {
+        return (T) Proxy.newProxyInstance(clientType.getClassLoader(), new Class<?>[] { clientType },
+                new ResilientClientProxy(target, prefix, circuitBreakerRegistry, bulkheadRegistry, retryRegistry));
+    }
+    
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(target, args);
+        }
+        Guard guard = guards.computeIfAbsent(method, this::guardFor);
+        
+        if (Mono.class.isAssignableFrom(method.getReturnType())) {
+            // Deferred, so every retry subscribes again and sends a new request
+            Mono<?> call = Mono.defer(() -> (Mono<?>) call(method, args))
+                    .transformDeferred(BulkheadOperator.of(guard.bulkhead()))
+                    .transformDeferred(CircuitBreakerOperator.of(guard.circuitBreaker()));
+            return guard.retry() != null ? call.transformDeferred(RetryOperator.of(guard.retry())) : call;
+        }
+        if (Flux.class.isAssignableFrom(method.getReturnType())) {
+            // Never retried, a resubscribe after a mid-stream failure would emit the elements already sent again
+            return Flux.defer(() -> (Flux<?>) call(method, args))
+                    .transformDeferred(BulkheadOperator.of(guard.bulkhead()))
+                    .transformDeferred(CircuitBreakerOperator.of(guard.circuitBreaker()));
+        }
+        
+        Supplier<Object> call = Bulkhead.decorateSupplier(guard.bulkhead(), () -> call(method, args));
+        call = CircuitBreaker.decorateSupplier(guard.circuitBreaker(), call);
+        if (guard.retry() != null) {
+            call = Retry.decorateSupplier(guard.retry(), call);
+        }
+        return call.get();
+    }
+    
+    private Object call(Method method, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private Guard guardFor(Method method) {
+        String name = prefix + "-" + method.getName();
+        boolean idempotent = AnnotatedElementUtils.hasAnnotation(method, GetExchange.class)
+                || AnnotatedElementUtils.hasAnnotation(method, PutExchange.class)
+                || AnnotatedElementUtils.hasAnnotation(method, DeleteExchange.class);
+        return new Guard(circuitBreakerRegistry.circuitBreaker(name), bulkheadRegistry.bulkhead(name),
+                idempotent ? retryRegistry.retry(name) : null);
+    }
+    
+    private record Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead, Retry retry) {
+    }
+}
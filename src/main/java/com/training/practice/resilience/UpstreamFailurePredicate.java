@@ -0,0 +1,24 @@
+package com.training.practice.resilience;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Failures that say something about the upstream's health: no connection, no answer in time, or a 5xx.
+ * Only these are retried and counted by the circuit breakers, a 4xx is the caller's problem and a
+ * repeat would get the same answer.
+ */
+public class UpstreamFailurePredicate implements Predicate<Throwable> {
+    
+    @Override
+    public boolean test(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        // Connect failures and response timeouts arrive wrapped in WebClientRequestException
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,178 @@
+package com.training.practice.search;
+
+import com.training.practice.event.UserChangedEvent;
+import com.training.practice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory trigram index over User.name answering case-insensitive substring queries.
+ * Candidates come from the smallest posting list of the query trigrams and are verified
+ * against the stored name, so only the top-k matches are ever held in memory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNameIndex {
+
+    private static final int GRAM = 3;
+
+    // Prefix match first, then match at a word start, then shorter (closer) names
+    private static final Comparator<Match> RANKING = Comparator
+            .comparingInt(Match::rank)
+            .thenComparingInt(match -> match.name().length())
+            .thenComparing(Match::name)
+            .thenComparing(Match::id);
+
+    private final UserRepository userRepository;
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        names.clear();
+        postings.clear();
+
+        userRepository.findAllNamesBy().parallelStream()
+                .forEach(user -> put(user.getId().toString(), user.getName()));
+
+        ready = true;
+        log.info("User name index rebuilt with {} users and {} trigrams in {} ms",
+                names.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.ChangeType.DELETED) {
+            remove(event.getUserId());
+        } else {
+            put(event.getUserId(), event.getName());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(String id, String name) {
+        String normalized = normalize(name);
+        String previous = names.put(id, normalized);
+        if (previous != null) {
+            forEachTrigram(previous, gram -> removePosting(gram, id));
+        }
+        forEachTrigram(normalized, gram -> addPosting(gram, id));
+    }
+
+    public void remove(String id) {
+        String previous = names.remove(id);
+        if (previous != null) {
+            forEachTrigram(previous, gram -> removePosting(gram, id));
+        }
+    }
+
+    /**
+     * Returns the ids of at most {@code limit} users whose name contains {@code query}, best match first.
+     */
+    public List<String> search(String query, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // Worst match on top so it can be evicted once the heap holds limit entries
+        PriorityQueue<Match> topK = new PriorityQueue<>(limit + 1, RANKING.reversed());
+
+        if (needle.length() < GRAM) {
+            // Too short to produce a trigram, scan the (in-memory) names instead
+            names.forEach((id, name) -> offer(topK, limit, id, name, needle));
+        } else {
+            for (String id : candidates(needle)) {
+                String name = names.get(id);
+                if (name != null) {
+                    offer(topK, limit, id, name, needle);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(topK);
+        matches.sort(RANKING);
+        return matches.stream().map(Match::id).toList();
+    }
+
+    private Set<String> candidates(String needle) {
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            Set<String> posting = postings.get(needle.substring(i, i + GRAM));
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private void offer(PriorityQueue<Match> topK, int limit, String id, String name, String needle) {
+        int position = name.indexOf(needle);
+        if (position < 0) {
+            return;
+        }
+
+        int rank = position == 0 ? 0 : (name.charAt(position - 1) == ' ' ? 1 : 2);
+        Match match = new Match(id, name, rank);
+        if (topK.size() < limit) {
+            topK.add(match);
+        } else if (RANKING.compare(match, topK.peek()) < 0) {
+            topK.poll();
+            topK.add(match);
+        }
+    }
+
+    // Both posting updates run inside compute() so an emptied set is never removed while being added to
+    private void addPosting(String gram, String id) {
+        postings.compute(gram, (key, ids) -> {
+            Set<String> posting = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            posting.add(id);
+            return posting;
+        });
+    }
+
+    private void removePosting(String gram, String id) {
+        postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static void forEachTrigram(String text, Consumer<String> consumer) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            consumer.accept(text.substring(i, i + GRAM));
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Match(String id, String name, int rank) {
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import com.training.practice.config.FeaturesConfig;
 import com.training.practice.config.PaginationConfig;
 import com.training.practice.config.AppSecurityConfig;
+import com.training.practice.logging.LogSampling;
 
 import jakarta.annotation.PostConstruct;
 
@@ -25,8 +26,10 @@ public class FeatureToggleService {
     
     @PostConstruct
     public void logFeatureFlags() {
+        LogSampling.configure(featuresConfig.isEnableLogging(), featuresConfig.getLogSampleRate());
         log.info("Feature Flags Configuration:");
         log.info("  - Enable Logging: {}", featuresConfig.isEnableLogging());
+        log.info("  - Log Sample Rate: {}", featuresConfig.getLogSampleRate());
         log.info("Pagination Configuration:");
         log.info("  - Default Page Size: {}", paginationConfig.getDefaultPageSize());
         log.info("  - Max Page Size: {}", paginationConfig.getMaxPageSize());
@@ -36,6 +39,26 @@ public class FeatureToggleService {
         return featuresConfig.isEnableLogging();
     }
     
+    public double getLogSampleRate() {
+        return featuresConfig.getLogSampleRate();
+    }
+    
+    /**
+     * Applies to the next log call on every thread, no restart needed. A null sample rate keeps the current one.
+     */
+    public synchronized void updateLogging(boolean enabled, Double sampleRate) {
+        if (sampleRate != null) {
+            // Written as a range check that NaN fails, a NaN rate would silently suppress every sampled log
+            if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+                throw new IllegalArgumentException("Log sample rate must be between 0.0 and 1.0");
+            }
+            featuresConfig.setLogSampleRate(sampleRate);
+        }
+        featuresConfig.setEnableLogging(enabled);
+        LogSampling.configure(enabled, featuresConfig.getLogSampleRate());
+        log.warn("Logging {} with sample rate {}", enabled ? "enabled" : "disabled", featuresConfig.getLogSampleRate());
+    }
+    
     public int getDefaultPageSize() {
         return paginationConfig.getDefaultPageSize();
     }
@@ -1,75 +1,274 @@
 package com.training.practice.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import com.training.practice.cache.PostmanCache;
 import com.training.practice.client.PostmanClient;
+import com.training.practice.client.ReactivePostmanClient;
+import com.training.practice.config.PostmanBatchConfig;
+import com.training.practice.dto.PostmanUserBatchResultDTO;
+import com.training.practice.dto.PostmanUserProfileDTO;
 import com.training.practice.dto.backend.PostmanRequest;
 import com.training.practice.dto.backend.PostmanResponse;
 import com.training.practice.dto.external.PostmanClientResponse;
 import com.training.practice.mapper.PostmanClientMapper;
 
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+// Reads go through PostmanCache, writes go straight to the upstream and invalidate what they touched
 public class PostmanClientService {
     
+    // Same timer as the @Timed on UserService/SubjectService. Only the blocking methods carry the annotation, the
+    // aspect would stop the clock when a Mono is returned, before anything is subscribed, so the reactive methods
+    // time their own pipeline from subscription to termination.
+    private static final String METRIC = "practice.service";
+    
     private final PostmanClient postmanClient;
     private final PostmanClientMapper postmanClientMapper;
+    private final PostmanCache postmanCache;
+    private final ReactivePostmanClient reactivePostmanClient;
+    private final PostmanBatchConfig postmanBatchConfig;
+    private final MeterRegistry meterRegistry;
     
+    @Timed(value = METRIC, histogram = true)
     public List<PostmanResponse> getAllUsers() {
         log.info("Fetching all users from Postman mock API");
-        List<PostmanClientResponse> response = postmanClient.getAllUsers();
+        List<PostmanClientResponse> response = postmanCache.getAllUsers();
         return response.stream()
                 .map(postmanClientMapper::toBeInternal)
                 .collect(Collectors.toList());
     }
     
+    @Timed(value = METRIC, histogram = true)
     public PostmanResponse getUserById(Long id) {
         log.info("Fetching user by ID: {}", id);
-        return postmanClientMapper.toBeInternal(postmanClient.getUserById(id));
+        return postmanClientMapper.toBeInternal(postmanCache.getUser(id));
     }
     
+    @Timed(value = METRIC, histogram = true)
     public List<PostmanResponse> getUsersByRole(String role) {
         log.info("Fetching users by role: {}", role);
-        List<PostmanClientResponse> response = postmanClient.getUsersByRole(role);
+        List<PostmanClientResponse> response = postmanCache.getUsersByRole(role);
         return postmanClientMapper.toBeInternals(response);
     }
     
+    @Timed(value = METRIC, histogram = true)
     public PostmanResponse createUser(PostmanRequest request) {
         log.info("Creating new user: {}", request.getUserPostmanName());
         log.info("Request details: {}", request);
-        return postmanClientMapper.toBeInternal(postmanClient.createUser(request));
+        PostmanClientResponse created = postmanClient.createUser(request);
+        postmanCache.invalidateLists();
+        return postmanClientMapper.toBeInternal(created);
     }
     
+    @Timed(value = METRIC, histogram = true)
     public PostmanResponse updateFullUser(Long id, PostmanRequest request) {
         log.info("Updating full user: {}", id);
         log.info("Request details: {}", request);
-        return postmanClientMapper.toBeInternal(postmanClient.updateFullUser(id, request));
+        PostmanClientResponse updated = postmanClient.updateFullUser(id, request);
+        postmanCache.invalidateUser(id);
+        return postmanClientMapper.toBeInternal(updated);
     }
     
+    @Timed(value = METRIC, histogram = true)
     public PostmanResponse updatePartialUser(Long id, PostmanRequest request) {
         log.info("Partially updating user: {}", id);
         log.info("Request details: {}", request);
-        return postmanClientMapper.toBeInternal(postmanClient.updatePartialUser(id, request));
+        PostmanClientResponse updated = postmanClient.updatePartialUser(id, request);
+        postmanCache.invalidateUser(id);
+        return postmanClientMapper.toBeInternal(updated);
     }
     
+    @Timed(value = METRIC, histogram = true)
     public void deleteUser(Long id) {
         log.info("Deleting user: {}", id);
         postmanClient.deleteUser(id);
+        postmanCache.invalidateUser(id);
     }
     
+    @Timed(value = METRIC, histogram = true)
     public List<String> getUserPermissions(Long id) {
         log.info("Fetching permissions for user: {}", id);
-        return postmanClient.getUserPermissions(id);
+        return postmanCache.getPermissions(id);
     }
     
+    @Timed(value = METRIC, histogram = true)
     public PostmanResponse assignRole(Long id, String role) {
         log.info("Assigning role {} to user: {}", role, id);
-        return postmanClientMapper.toBeInternal(postmanClient.assignRole(id, role));
+        PostmanClientResponse updated = postmanClient.assignRole(id, role);
+        postmanCache.invalidateUser(id);
+        return postmanClientMapper.toBeInternal(updated);
+    }
+    
+    // Non-blocking variants, same caching and invalidation, no thread waits while the upstream call is in flight
+    
+    public Mono<List<PostmanResponse>> getAllUsersAsync() {
+        log.info("Fetching all users from Postman mock API asynchronously");
+        return timed("getAllUsersAsync", postmanCache.getAllUsersAsync().map(postmanClientMapper::toBeInternals));
+    }
+    
+    public Mono<PostmanResponse> getUserByIdAsync(Long id) {
+        log.info("Fetching user by ID asynchronously: {}", id);
+        return timed("getUserByIdAsync", postmanCache.getUserAsync(id).map(postmanClientMapper::toBeInternal));
+    }
+    
+    /**
+     * Looks up all IDs concurrently, at most maxConcurrency upstream calls at a time, so the batch takes about as
+     * long as its slowest ID. Results keep the order of the distinct IDs, an ID that fails or exceeds the item
+     * timeout is reported with its error. A timed out lookup still completes in the background and fills the cache.
+     */
+    public Mono<List<PostmanUserBatchResultDTO>> getUsersByIdsAsync(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty() || distinctIds.size() > postmanBatchConfig.getMaxIds()) {
+            throw new IllegalArgumentException("A batch takes between 1 and " + postmanBatchConfig.getMaxIds() + " user IDs");
+        }
+        log.info("Fetching {} users by ID asynchronously", distinctIds.size());
+        
+        Duration itemTimeout = Duration.ofMillis(postmanBatchConfig.getItemTimeout());
+        return timed("getUsersByIdsAsync", Flux.fromIterable(distinctIds)
+                .flatMapSequential(id -> postmanCache.getUserAsync(id)
+                        .map(user -> PostmanUserBatchResultDTO.builder()
+                                .id(id)
+                                .success(true)
+                                .user(postmanClientMapper.toBeInternal(user))
+                                .build())
+                        .timeout(itemTimeout)
+                        .switchIfEmpty(Mono.fromSupplier(() -> failed(id, "User not found")))
+                        .onErrorResume(e -> Mono.just(failed(id, describe(e, itemTimeout)))),
+                        postmanBatchConfig.getMaxConcurrency())
+                .collectList());
+    }
+    
+    /**
+     * User and permissions in one call. Both lookups are subscribed at once, so the response takes about as long
+     * as the slower of the two instead of their sum. Fails as a whole if either lookup fails.
+     */
+    public Mono<PostmanUserProfileDTO> getUserProfileAsync(Long id) {
+        log.info("Fetching user and permissions concurrently: {}", id);
+        return timed("getUserProfileAsync", Mono.zip(getUserByIdAsync(id), getUserPermissionsAsync(id))
+                .map(tuple -> PostmanUserProfileDTO.builder()
+                        .user(tuple.getT1())
+                        .permissions(tuple.getT2())
+                        .build()));
+    }
+    
+    private static PostmanUserBatchResultDTO failed(Long id, String error) {
+        return PostmanUserBatchResultDTO.builder()
+                .id(id)
+                .success(false)
+                .error(error)
+                .build();
+    }
+    
+    private static String describe(Throwable e, Duration itemTimeout) {
+        if (e instanceof TimeoutException) {
+            return "Timed out after " + itemTimeout.toMillis() + " ms";
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return "Upstream answered " + responseException.getStatusCode().value();
+        }
+        return e.getMessage();
+    }
+    
+    public Mono<List<PostmanResponse>> getUsersByRoleAsync(String role) {
+        log.info("Fetching users by role asynchronously: {}", role);
+        return timed("getUsersByRoleAsync", postmanCache.getUsersByRoleAsync(role).map(postmanClientMapper::toBeInternals));
+    }
+    
+    /**
+     * Streams the upstream list one mapped user at a time, bypassing the cache so nothing holds the whole list
+     */
+    public Flux<PostmanResponse> streamAllUsers() {
+        log.info("Streaming all users from Postman mock API");
+        return timed("streamAllUsers", reactivePostmanClient.streamAllUsers().map(postmanClientMapper::toBeInternal));
+    }
+    
+    public Flux<PostmanResponse> streamUsersByRole(String role) {
+        log.info("Streaming users by role: {}", role);
+        return timed("streamUsersByRole", reactivePostmanClient.streamUsersByRole(role).map(postmanClientMapper::toBeInternal));
+    }
+    
+    public Mono<PostmanResponse> createUserAsync(PostmanRequest request) {
+        log.info("Creating new user asynchronously: {}", request.getUserPostmanName());
+        return timed("createUserAsync", reactivePostmanClient.createUser(request)
+                .doOnSuccess(created -> postmanCache.invalidateLists())
+                .map(postmanClientMapper::toBeInternal));
+    }
+    
+    public Mono<PostmanResponse> updateFullUserAsync(Long id, PostmanRequest request) {
+        log.info("Updating full user asynchronously: {}", id);
+        return timed("updateFullUserAsync", reactivePostmanClient.updateFullUser(id, request)
+                .doOnSuccess(updated -> postmanCache.invalidateUser(id))
+                .map(postmanClientMapper::toBeInternal));
+    }
+    
+    public Mono<PostmanResponse> updatePartialUserAsync(Long id, PostmanRequest request) {
+        log.info("Partially updating user asynchronously: {}", id);
+        return timed("updatePartialUserAsync", reactivePostmanClient.updatePartialUser(id, request)
+                .doOnSuccess(updated -> postmanCache.invalidateUser(id))
+                .map(postmanClientMapper::toBeInternal));
+    }
+    
+    public Mono<Void> deleteUserAsync(Long id) {
+        log.info("Deleting user asynchronously: {}", id);
+        return timed("deleteUserAsync", reactivePostmanClient.deleteUser(id)
+                .doOnSuccess(deleted -> postmanCache.invalidateUser(id)));
+    }
+    
+    public Mono<List<String>> getUserPermissionsAsync(Long id) {
+        log.info("Fetching permissions for user asynchronously: {}", id);
+        return timed("getUserPermissionsAsync", postmanCache.getPermissionsAsync(id));
+    }
+    
+    public Mono<PostmanResponse> assignRoleAsync(Long id, String role) {
+        log.info("Assigning role {} to user asynchronously: {}", role, id);
+        return timed("assignRoleAsync", reactivePostmanClient.assignRole(id, role)
+                .doOnSuccess(updated -> postmanCache.invalidateUser(id))
+                .map(postmanClientMapper::toBeInternal));
+    }
+    
+    private <T> Mono<T> timed(String method, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono
+                    .doOnSuccess(value -> sample.stop(timer(method, "none")))
+                    .doOnError(e -> sample.stop(timer(method, e.getClass().getSimpleName())));
+        });
+    }
+    
+    private <T> Flux<T> timed(String method, Flux<T> flux) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return flux
+                    .doOnComplete(() -> sample.stop(timer(method, "none")))
+                    .doOnError(e -> sample.stop(timer(method, e.getClass().getSimpleName())));
+        });
+    }
+    
+    // Tagged like TimedAspect tags the blocking methods, so both land in the same practice.service metric
+    private Timer timer(String method, String exception) {
+        return Timer.builder(METRIC)
+                .tag("class", PostmanClientService.class.getName())
+                .tag("method", method)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
@@ -1,49 +1,95 @@
 package com.training.practice.service;
 
+import com.training.practice.dto.CursorPageDTO;
 import com.training.practice.dto.SubjectDTO;
 import com.training.practice.dto.SubjectUpdateDTO;
+import com.training.practice.dto.Versioned;
 import com.training.practice.entity.Subject;
+import com.training.practice.entity.User;
+import com.training.practice.event.UserChangedEvent;
 import com.training.practice.exception.SubjectNotFoundException;
+import com.training.practice.id.Uuids;
 import com.training.practice.mapper.SubjectMapper;
+import com.training.practice.pagination.KeysetCursorCodec;
 import com.training.practice.repository.SubjectRepository;
+import com.training.practice.repository.projection.SubjectRow;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @Transactional
 @RequiredArgsConstructor
+@Timed(value = "practice.service", histogram = true)
 public class SubjectService {
+    // Only non-null columns can be used as a keyset, otherwise rows with NULL keys are skipped
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("id", "name", "code", "createdAt");
+
     private final SubjectRepository subjectRepository;
     private final SubjectMapper subjectMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Optional<SubjectDTO> getSubjectById(String id) {
         log.info("Fetching subject by ID: {}", id);
-        return subjectRepository.findById(id).map(subjectMapper::toDTO);
+        return Uuids.parse(id).flatMap(subjectRepository::findRowById).map(subjectMapper::toDTO);
+    }
+
+    // ETag of a subject from its updatedAt alone, used to answer conditional GETs without loading it
+    @Transactional(readOnly = true)
+    public Optional<String> getSubjectVersion(String id) {
+        return Uuids.parse(id).flatMap(subjectRepository::findUpdatedAtById).map(Versioned::tag);
     }
 
     @Transactional(readOnly = true)
     public Page<SubjectDTO> getSubjectsWithPagination(Pageable pageable) {
         log.info("Fetching subjects with pagination: {}", pageable);
-        return subjectRepository.findAll(pageable)
+        return subjectRepository.findAllRows(pageable)
                 .map(subjectMapper::toDTO);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<SubjectDTO> getSubjectsWithPagination(String after, int size, Sort sort) {
+        log.info("Fetching subjects with cursor pagination - after: {}, size: {}, sort: {}", after, size, sort);
+
+        sort.forEach(order -> {
+            if (!CURSOR_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cursor pagination is not supported for sort property: " + order.getProperty());
+            }
+        });
+
+        Window<SubjectRow> window = subjectRepository.findRowsBy(
+                keysetCursorCodec.decode(after, sort, Subject.class), sort, Limit.of(size));
+
+        return CursorPageDTO.<SubjectDTO>builder()
+                .content(window.map(subjectMapper::toDTO).getContent())
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(window.hasNext() ? keysetCursorCodec.encode(sort, window.positionAt(window.size() - 1)) : null)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<SubjectDTO> searchSubjectByName(String name, int limit) {
         log.info("Searching subjects by name: {}", name);
-        return subjectRepository.findByNameContainingIgnoreCase(name, PageRequest.of(0, limit)).stream()
+        return subjectRepository.findRowsByNameContaining(name, PageRequest.of(0, limit)).stream()
                 .map(subjectMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -51,12 +97,18 @@ public class SubjectService {
     @Transactional
     public SubjectDTO updateSubject(String id, SubjectUpdateDTO request) {
         log.info("Updating subject with ID: {}", id);
-        Subject subject = subjectRepository.findById(id)
+        Subject subject = Uuids.parse(id)
+                .flatMap(subjectRepository::findById)
                 .orElseThrow(() -> SubjectNotFoundException.withId(id));
 
         subjectMapper.updateEntityFromUpdateDTO(request, subject);
 
         Subject updatedSubject = subjectRepository.saveAndFlush(subject);
+        // Cached user representations embed their subjects, so the owner has to be refreshed too
+        User owner = updatedSubject.getUser();
+        if (owner != null) {
+            eventPublisher.publishEvent(UserChangedEvent.updated(owner, owner.getDepartment(), owner.getStatus()));
+        }
         log.info("Subject updated successfully with ID: {}", updatedSubject.getId());
 
         return subjectMapper.toDTO(updatedSubject);
@@ -0,0 +1,123 @@
+package com.training.practice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.training.practice.dto.UserDTO;
+import com.training.practice.mapper.UserMapper;
+import com.training.practice.repository.UserRepository;
+import com.training.practice.repository.projection.UserRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserExportService {
+
+    private static final String CSV_HEADER = "id,name,email,phone,department,status,createdAt,updatedAt\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams every user to {@code out} row by row from a forward-only cursor.
+     * Rows are projections, nothing is kept in the persistence context, so heap use does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting users as {}", format);
+
+        ObjectWriter rowWriter = objectMapper.writerFor(UserDTO.class);
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        long rows = 0;
+
+        if (format == ExportFormat.CSV) {
+            buffered.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (Stream<UserRow> users = userRepository.streamAllRows()) {
+            Iterator<UserRow> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserDTO row = userMapper.toDTO(iterator.next());
+
+                if (format == ExportFormat.CSV) {
+                    buffered.write(toCsvLine(row).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    buffered.write(rowWriter.writeValueAsBytes(row));
+                    buffered.write('\n');
+                }
+                rows++;
+            }
+        }
+
+        buffered.flush();
+        log.info("Exported {} users as {}", rows, format);
+        return rows;
+    }
+
+    private static String toCsvLine(UserDTO user) {
+        return String.join(",",
+                csv(user.getId()),
+                csv(user.getName()),
+                csv(user.getEmail()),
+                csv(user.getPhone()),
+                csv(user.getDepartment()),
+                csv(user.getStatus()),
+                csv(user.getCreatedAt()),
+                csv(user.getUpdatedAt())) + "\n";
+    }
+
+    // RFC 4180 quoting: wrap in quotes when the value contains a separator, quote or line break
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    public enum ExportFormat {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ExportFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static ExportFormat fromString(String value) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + ". Use ndjson or csv");
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+}
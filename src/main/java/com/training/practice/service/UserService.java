@@ -1,37 +1,90 @@
 package com.training.practice.service;
 
+import com.training.practice.cache.UserCache;
+import com.training.practice.dto.CursorPageDTO;
 import com.training.practice.dto.SubjectCreateDTO;
+import com.training.practice.dto.SubjectDTO;
+import com.training.practice.dto.UserBatchResultDTO;
 import com.training.practice.dto.UserCreateDTO;
 import com.training.practice.dto.UserDTO;
 import com.training.practice.dto.UserV2DTO;
 import com.training.practice.dto.UserUpdateDTO;
+import com.training.practice.dto.Versioned;
 import com.training.practice.entity.Subject;
 import com.training.practice.entity.User;
+import com.training.practice.event.UserChangedEvent;
 import com.training.practice.exception.EmailAlreadyExistsException;
 import com.training.practice.exception.UserNotFoundException;
+import com.training.practice.exception.VersionConflictException;
+import com.training.practice.id.Uuids;
+import com.training.practice.repository.SubjectRepository;
 import com.training.practice.repository.UserRepository;
+import com.training.practice.repository.projection.SubjectRow;
+import com.training.practice.repository.projection.UserRow;
 import com.training.practice.mapper.UserMapper;
 import com.training.practice.mapper.SubjectMapper;
+import com.training.practice.pagination.KeysetCursorCodec;
+import com.training.practice.search.UserNameIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Timed(value = "practice.service", histogram = true)
 public class UserService {
     
+    // Only non-null columns can be used as a keyset, otherwise rows with NULL keys are skipped
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("id", "name", "email", "createdAt");
+    
+    // Matches hibernate.jdbc.batch_size, one JDBC batch is flushed and cleared per chunk
+    private static final int INSERT_CHUNK_SIZE = 100;
+    
+    // Keeps the user id IN list of the subject query bounded
+    private static final int IN_CHUNK_SIZE = 1000;
+    
     private final UserRepository userRepository;
+    private final SubjectRepository subjectRepository;
     private final UserMapper userMapper;
     private final SubjectMapper subjectMapper;
+    private final KeysetCursorCodec keysetCursorCodec;
+    private final UserNameIndex userNameIndex;
+    private final UserCache userCache;
+    private final UserStatsService userStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Validator validator;
     
     public UserDTO createUser(UserCreateDTO request) {
         log.info("Creating user with email: {}", request.getEmail());
@@ -49,101 +102,348 @@ public class UserService {
                 .build();
         
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.created(savedUser));
         log.info("User created successfully with ID: {}", savedUser.getId());
         
         return userMapper.toDTO(savedUser);
     }
     
-    @Transactional(readOnly = true)
-    public Optional<UserDTO> getUserById(String id) {
+    public List<UserBatchResultDTO> createUsers(List<UserCreateDTO> requests) {
+        log.info("Creating {} users in batch", requests.size());
+        
+        UserBatchResultDTO[] results = new UserBatchResultDTO[requests.size()];
+        List<String> emails = requests.stream()
+                .filter(request -> request != null && request.getEmail() != null)
+                .map(UserCreateDTO::getEmail)
+                .distinct()
+                .toList();
+        
+        // Single IN query instead of one existsByEmail round trip per user
+        Set<String> takenEmails = emails.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingEmails(emails));
+        
+        List<User> pending = new ArrayList<>(INSERT_CHUNK_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(INSERT_CHUNK_SIZE);
+        
+        for (int i = 0; i < requests.size(); i++) {
+            UserCreateDTO request = requests.get(i);
+            
+            Set<ConstraintViolation<UserCreateDTO>> violations = request == null ? Set.of() : validator.validate(request);
+            if (request == null || !violations.isEmpty()) {
+                String error = request == null ? "User is required" : violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                results[i] = failedItem(i, request, "Validation failed: " + error);
+                continue;
+            }
+            
+            // Set.add also rejects an email repeated inside the same batch
+            if (!takenEmails.add(request.getEmail())) {
+                results[i] = failedItem(i, request, new EmailAlreadyExistsException(request.getEmail()).getMessage());
+                continue;
+            }
+            
+            pending.add(User.builder()
+                    .name(request.getName())
+                    .email(request.getEmail())
+                    .phone(request.getPhone())
+                    .department(request.getDepartment())
+                    .status(request.getStatus() != null ? request.getStatus() : User.UserStatus.ACTIVE)
+                    .build());
+            pendingIndexes.add(i);
+            
+            if (pending.size() == INSERT_CHUNK_SIZE) {
+                insertChunk(pending, pendingIndexes, results);
+            }
+        }
+        insertChunk(pending, pendingIndexes, results);
+        
+        log.info("Batch user creation finished: {} requested", requests.size());
+        return List.of(results);
+    }
+    
+    private void insertChunk(List<User> users, List<Integer> indexes, UserBatchResultDTO[] results) {
+        if (users.isEmpty()) {
+            return;
+        }
+        
+        try {
+            // Flushed through the repository proxy, so a unique key violation arrives translated
+            userRepository.saveAllAndFlush(users);
+        } catch (DataIntegrityViolationException e) {
+            // An email was registered concurrently between the IN check and the insert
+            throw new EmailAlreadyExistsException("One or more emails in the batch already exist", e);
+        }
+        
+        for (int j = 0; j < users.size(); j++) {
+            User user = users.get(j);
+            eventPublisher.publishEvent(UserChangedEvent.created(user));
+            results[indexes.get(j)] = UserBatchResultDTO.builder()
+                    .index(indexes.get(j))
+                    .email(user.getEmail())
+                    .success(true)
+                    .id(user.getId().toString())
+                    .build();
+        }
+        
+        // Keep the persistence context small for batches of thousands
+        entityManager.clear();
+        users.clear();
+        indexes.clear();
+    }
+    
+    private static UserBatchResultDTO failedItem(int index, UserCreateDTO request, String error) {
+        return UserBatchResultDTO.builder()
+                .index(index)
+                .email(request != null ? request.getEmail() : null)
+                .success(false)
+                .error(error)
+                .build();
+    }
+    
+    // No surrounding transaction, so cache hits never borrow a pooled connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<Versioned<UserDTO>> getUserById(String id) {
         log.info("Fetching user by ID: {}", id);
-        return userRepository.findById(id)
-                .map(userMapper::toDTO);
+        return userCache.getUser(id, key -> Uuids.parse(key)
+                .flatMap(userRepository::findRowById)
+                .map(row -> {
+                    UserDTO user = toUserDTOs(List.of(row), true).get(0);
+                    return new Versioned<>(user, userVersion(row.updatedAt(), user.getSubjects()));
+                }));
     }
 
-    @Transactional(readOnly = true)
-    public Optional<UserV2DTO> getUserByIdV2(String id) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<Versioned<UserV2DTO>> getUserByIdV2(String id) {
         log.info("Fetching user by ID: {}", id);
-        return userRepository.findById(id)
-                .map(userMapper::toV2DTO);
+        return userCache.getUserV2(id, key -> Uuids.parse(key)
+                .flatMap(userRepository::findNameRowById)
+                .map(row -> {
+                    UserV2DTO user = userMapper.toV2DTO(row);
+                    user.setSubjects(subjectsByUser(List.of(row.id())).getOrDefault(row.id(), new ArrayList<>()));
+                    return new Versioned<>(user, userVersion(row.updatedAt(), user.getSubjects()));
+                }));
+    }
+    
+    /**
+     * Current ETag of a user, taken from the cache when the user is cached and otherwise from one
+     * aggregate query over the user and subject timestamps. Nothing is mapped or serialized.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<String> getUserVersion(String id) {
+        Optional<String> cached = userCache.getVersion(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return Uuids.parse(id)
+                .flatMap(userRepository::findVersionById)
+                .map(row -> Versioned.tag(row.updatedAt(), row.subjectsUpdatedAt(), row.subjects()));
+    }
+    
+    // Same inputs as findVersionById, so a loaded user and a version lookup agree on the tag
+    private static String userVersion(LocalDateTime updatedAt, List<SubjectDTO> subjects) {
+        LocalDateTime subjectsUpdatedAt = subjects.stream()
+                .map(SubjectDTO::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return Versioned.tag(updatedAt, subjectsUpdatedAt, subjects.size());
     }
     
     @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         log.info("Fetching all users");
-        return userRepository.findAll().stream()
-                .map(userMapper::toDTO)
+        // Every subject is needed anyway, one unfiltered query beats an IN list of every user id
+        Map<UUID, List<SubjectDTO>> subjects = groupByUser(subjectRepository.findAllRows());
+        return userRepository.findAllRows().stream()
+                .map(row -> {
+                    UserDTO user = userMapper.toDTO(row);
+                    user.setSubjects(subjects.getOrDefault(row.id(), new ArrayList<>()));
+                    return user;
+                })
                 .collect(Collectors.toList());
     }
     
     @Transactional(readOnly = true)
-    public Page<UserDTO> getUsersWithPagination(Pageable pageable) {
-        log.info("Fetching users with pagination: {}", pageable);
-        return userRepository.findAll(pageable)
-                .map(userMapper::toDTO);
+    public Page<UserDTO> getUsersWithPagination(Pageable pageable, boolean includeSubjects) {
+        log.info("Fetching users with pagination: {}, include subjects: {}", pageable, includeSubjects);
+        Page<UserRow> rows = userRepository.findAllRows(pageable);
+        return new PageImpl<>(toUserDTOs(rows.getContent(), includeSubjects), rows.getPageable(), rows.getTotalElements());
     }
     
     @Transactional(readOnly = true)
-    public List<UserDTO> getUsersByDepartment(String department) {
-        log.info("Fetching users by department: {}", department);
-        return userRepository.findByDepartment(department).stream()
-                .map(userMapper::toDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<UserDTO> getUsersWithPagination(String after, int size, Sort sort, boolean includeSubjects) {
+        log.info("Fetching users with cursor pagination - after: {}, size: {}, sort: {}, include subjects: {}", 
+                after, size, sort, includeSubjects);
+        
+        sort.forEach(order -> {
+            if (!CURSOR_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cursor pagination is not supported for sort property: " + order.getProperty());
+            }
+        });
+        
+        Window<UserRow> window = userRepository.findRowsBy(
+                keysetCursorCodec.decode(after, sort, User.class), sort, Limit.of(size));
+        
+        return CursorPageDTO.<UserDTO>builder()
+                .content(toUserDTOs(window.getContent(), includeSubjects))
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(window.hasNext() ? keysetCursorCodec.encode(sort, window.positionAt(window.size() - 1)) : null)
+                .build();
     }
     
     @Transactional(readOnly = true)
-    public List<UserDTO> getUsersByStatus(User.UserStatus status) {
-        log.info("Fetching users by status: {}", status);
-        return userRepository.findByStatus(status).stream()
-                .map(userMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<UserDTO> getUsersByDepartment(String department, boolean includeSubjects) {
+        log.info("Fetching users by department: {}, include subjects: {}", department, includeSubjects);
+        return toUserDTOs(userRepository.findRowsByDepartment(department), includeSubjects);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersByStatus(User.UserStatus status, boolean includeSubjects) {
+        log.info("Fetching users by status: {}, include subjects: {}", status, includeSubjects);
+        return toUserDTOs(userRepository.findRowsByStatus(status), includeSubjects);
     }
 
     @Transactional(readOnly = true)
-    public List<UserDTO> getUsersByDepartmentAndStatus(String department, User.UserStatus status) {
-        log.info("Fetching users by department: {} and status: {}", department, status);
-        return userRepository.findByDepartmentAndStatus(department, status).stream()
-                .map(userMapper::toDTO)
-                .collect(Collectors.toList());
+    public List<UserDTO> getUsersByDepartmentAndStatus(String department, User.UserStatus status, boolean includeSubjects) {
+        log.info("Fetching users by department: {} and status: {}, include subjects: {}", department, status, includeSubjects);
+        return toUserDTOs(userRepository.findRowsByDepartmentAndStatus(department, status), includeSubjects);
     }
     
     @Transactional(readOnly = true)
-    public List<UserDTO> searchUsersByName(String name) {
-        log.info("Searching users by name: {}", name);
-        return userRepository.findByNameContainingIgnoreCase(name).stream()
+    public List<UserDTO> searchUsersByName(String name, int limit, boolean includeSubjects) {
+        log.info("Searching users by name: {}, limit: {}, include subjects: {}", name, limit, includeSubjects);
+        
+        if (!userNameIndex.isReady()) {
+            // Index is still being built at startup, fall back to a bounded LIKE query
+            return toUserDTOs(userRepository.findRowsByNameContaining(name, PageRequest.of(0, limit)), includeSubjects);
+        }
+        
+        List<UUID> rankedIds = userNameIndex.search(name, limit).stream()
+                .map(UUID::fromString)
+                .toList();
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        
+        // Keep the index ranking, the IN query returns rows in arbitrary order
+        Map<UUID, Integer> position = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            position.put(rankedIds.get(i), i);
+        }
+        List<UserRow> rows = userRepository.findRowsByIdIn(rankedIds).stream()
+                .sorted(Comparator.comparing(row -> position.get(row.id())))
+                .toList();
+        return toUserDTOs(rows, includeSubjects);
+    }
+    
+    // Subjects stay null unless requested, matching toSummaryDTO
+    private List<UserDTO> toUserDTOs(List<UserRow> rows, boolean includeSubjects) {
+        List<UserDTO> users = rows.stream()
                 .map(userMapper::toDTO)
                 .collect(Collectors.toList());
+        if (includeSubjects && !rows.isEmpty()) {
+            Map<UUID, List<SubjectDTO>> subjects = subjectsByUser(rows.stream().map(UserRow::id).toList());
+            for (int i = 0; i < rows.size(); i++) {
+                users.get(i).setSubjects(subjects.getOrDefault(rows.get(i).id(), new ArrayList<>()));
+            }
+        }
+        return users;
+    }
+    
+    private Map<UUID, List<SubjectDTO>> subjectsByUser(List<UUID> userIds) {
+        List<SubjectRow> rows = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += IN_CHUNK_SIZE) {
+            rows.addAll(subjectRepository.findRowsByUserIdIn(userIds.subList(from, Math.min(from + IN_CHUNK_SIZE, userIds.size()))));
+        }
+        return groupByUser(rows);
+    }
+    
+    private Map<UUID, List<SubjectDTO>> groupByUser(List<SubjectRow> rows) {
+        Map<UUID, List<SubjectDTO>> subjects = new HashMap<>();
+        rows.forEach(row -> subjects.computeIfAbsent(row.userId(), key -> new ArrayList<>()).add(subjectMapper.toDTO(row)));
+        return subjects;
     }
     
     public UserDTO updateUser(String id, UserUpdateDTO request) {
         log.info("Updating user with ID: {}", id);
         
-        User user = userRepository.findById(id)
+        User user = Uuids.parse(id)
+                .flatMap(userRepository::findById)
                 .orElseThrow(() -> UserNotFoundException.withId(id));
+        if (request.getVersion() != null && !request.getVersion().equals(user.getVersion())) {
+            throw VersionConflictException.forUser(id, request.getVersion());
+        }
         
         // Check for email uniqueness if email is being updated
         if (request.getEmail() != null) {
             userRepository.findByEmail(request.getEmail())
                     .ifPresent(existingUser -> {
-                        if (!existingUser.getId().equals(id)) {
+                        if (!existingUser.getId().equals(user.getId())) {
                             throw new EmailAlreadyExistsException(request.getEmail());
                         }
                     });
         }
         
+        String previousDepartment = user.getDepartment();
+        User.UserStatus previousStatus = user.getStatus();
+        
         // Use MapStruct to update the entity
         userMapper.updateEntityFromUpdateDTO(request, user);
         
         User updatedUser = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(updatedUser, previousDepartment, previousStatus));
         log.info("User updated successfully with ID: {}", updatedUser.getId());
         
         return userMapper.toDTO(updatedUser);
     }
 
+    /**
+     * Status flips skip the load/dirty-check/flush cycle of {@link #updateUser}: the change is a single
+     * compare-and-set UPDATE guarded by the version. When the client sends the version and the user is cached
+     * at that version, the cached copy is the state being replaced and the UPDATE is the only statement,
+     * otherwise the projection is read first (the change event needs the previous status). Zero updated rows
+     * is a 404 if the user is gone and a conflict otherwise. Subjects are not loaded or returned.
+     */
+    public UserDTO updateUserStatus(String id, User.UserStatus status, Long expectedVersion) {
+        log.info("Updating status of user with ID: {} to {}, expected version: {}", id, status, expectedVersion);
+        
+        UUID userId = Uuids.parse(id).orElseThrow(() -> UserNotFoundException.withId(id));
+        Optional<UserRow> cached = expectedVersion == null ? Optional.empty() : userCache.peekUser(id)
+                .filter(user -> expectedVersion.equals(user.getVersion()))
+                .map(user -> new UserRow(userId, user.getName(), user.getEmail(), user.getPhone(), user.getDepartment(),
+                        user.getStatus(), user.getCreatedAt(), user.getUpdatedAt(), user.getVersion()));
+        UserRow current = cached.isPresent() ? cached.get() : userRepository.findRowById(userId)
+                .orElseThrow(() -> UserNotFoundException.withId(id));
+        if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+            throw VersionConflictException.forUser(id, expectedVersion);
+        }
+        if (current.status() == status) {
+            return userMapper.toDTO(current);
+        }
+        
+        // datetime(6) precision, so the response matches what a later read (and its ETag) sees
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (userRepository.updateStatus(userId, status, current.version(), updatedAt) == 0) {
+            if (!userRepository.existsById(userId)) {
+                throw UserNotFoundException.withId(id);
+            }
+            throw VersionConflictException.forUser(id, current.version());
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(id, current.name(), UserChangedEvent.ChangeType.UPDATED,
+                current.department(), status, current.department(), current.status()));
+        log.info("User status updated successfully with ID: {}", id);
+        
+        return userMapper.toDTO(new UserRow(userId, current.name(), current.email(), current.phone(), current.department(),
+                status, current.createdAt(), updatedAt, current.version() + 1));
+    }
+
     public UserDTO addNewSubjectToUser(String userId, SubjectCreateDTO request) {
         log.info("Adding new subject to user with ID: {}", userId);
         
-        User user = userRepository.findById(userId)
+        User user = Uuids.parse(userId)
+                .flatMap(userRepository::findById)
                 .orElseThrow(() -> UserNotFoundException.withId(userId));
         
         // Use SubjectMapper to create Subject from CreateDTO
@@ -152,6 +452,7 @@ public class UserService {
         user.getSubjects().add(subject);
         
         User updatedUser = userRepository.saveAndFlush(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(updatedUser, updatedUser.getDepartment(), updatedUser.getStatus()));
         log.info("Subject added successfully to user with ID: {}", updatedUser.getId());
         
         return userMapper.toDTO(updatedUser);
@@ -160,17 +461,22 @@ public class UserService {
     public void deleteUser(String id) {
         log.info("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            throw UserNotFoundException.withId(id);
-        }
+        // deleteById loads the entity anyway, loading it here also gives listeners its status and department
+        User user = Uuids.parse(id)
+                .flatMap(userRepository::findById)
+                .orElseThrow(() -> UserNotFoundException.withId(id));
         
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(user));
         log.info("User deleted successfully with ID: {}", id);
     }
     
     @Transactional(readOnly = true)
     public long getUserCountByStatus(User.UserStatus status) {
         log.info("Getting user count by status: {}", status);
-        return userRepository.countByStatus(status);
+        if (!userStatsService.isReady()) {
+            return userRepository.countByStatus(status);
+        }
+        return userStatsService.countByStatus(status);
     }
 }
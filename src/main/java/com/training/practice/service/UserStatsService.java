@@ -0,0 +1,113 @@
+package com.training.practice.service;
+
+import com.training.practice.dto.UserStatsDTO;
+import com.training.practice.entity.User;
+import com.training.practice.event.UserChangedEvent;
+import com.training.practice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory user counts per department and status.
+ * Built from one grouped query, adjusted incrementally from committed UserChangedEvents
+ * and periodically reconciled against the database to correct any drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsService {
+    
+    private static final String UNASSIGNED = "UNASSIGNED";
+    
+    private final UserRepository userRepository;
+    
+    private volatile Map<Key, AtomicLong> counts = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledAt;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${custom.stats.reconcile-interval:PT5M}", 
+            fixedDelayString = "${custom.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Map<Key, AtomicLong> fresh = new ConcurrentHashMap<>();
+        userRepository.countGroupedByDepartmentAndStatus().forEach(row ->
+                fresh.put(new Key(row.getDepartment(), row.getStatus()), new AtomicLong(row.getTotal())));
+        
+        counts = fresh;
+        reconciledAt = LocalDateTime.now();
+        log.info("User statistics reconciled: {} department/status groups", fresh.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> adjust(event.getDepartment(), event.getStatus(), 1);
+            case DELETED -> adjust(event.getPreviousDepartment(), event.getPreviousStatus(), -1);
+            case UPDATED -> {
+                if (!Objects.equals(event.getDepartment(), event.getPreviousDepartment())
+                        || event.getStatus() != event.getPreviousStatus()) {
+                    adjust(event.getPreviousDepartment(), event.getPreviousStatus(), -1);
+                    adjust(event.getDepartment(), event.getStatus(), 1);
+                }
+            }
+        }
+    }
+    
+    public boolean isReady() {
+        return reconciledAt != null;
+    }
+    
+    public long countByStatus(User.UserStatus status) {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getKey().status() == status)
+                .mapToLong(entry -> entry.getValue().get())
+                .sum();
+    }
+    
+    public UserStatsDTO getStats() {
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byDepartment = new TreeMap<>();
+        Map<String, Map<String, Long>> byDepartmentAndStatus = new TreeMap<>();
+        long total = 0;
+        
+        for (Map.Entry<Key, AtomicLong> entry : counts.entrySet()) {
+            long count = entry.getValue().get();
+            if (count == 0) {
+                continue;
+            }
+            String department = entry.getKey().department() != null ? entry.getKey().department() : UNASSIGNED;
+            String status = entry.getKey().status() != null ? entry.getKey().status().name() : UNASSIGNED;
+            
+            total += count;
+            byStatus.merge(status, count, Long::sum);
+            byDepartment.merge(department, count, Long::sum);
+            byDepartmentAndStatus.computeIfAbsent(department, key -> new TreeMap<>()).merge(status, count, Long::sum);
+        }
+        
+        return UserStatsDTO.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byDepartment(byDepartment)
+                .byDepartmentAndStatus(byDepartmentAndStatus)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+    
+    private void adjust(String department, User.UserStatus status, long delta) {
+        counts.computeIfAbsent(new Key(department, status), key -> new AtomicLong()).addAndGet(delta);
+    }
+    
+    private record Key(String department, User.UserStatus status) {
+    }
+}
@@ -0,0 +1,311 @@
+package com.training.practice.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.practice.id.UuidV7Generator;
+import com.training.practice.search.UserNameIndex;
+import com.training.practice.service.UserStatsService;
+
+/**
+ * End-to-end latency of every UserController, UserV2Controller and SubjectController endpoint against
+ * MySQL. Each endpoint is driven at a fixed arrival rate (open model): requests are sent on schedule
+ * whether or not earlier ones have returned, and latency is measured from the scheduled send time, so
+ * a stalled server shows up in the percentiles instead of silently lowering the load. Not picked up by
+ * a plain "mvn test", run it with:
+ *
+ * <pre>
+ * mvn test -Dtest=ApiLatencyBenchmark
+ * mvn test -Dtest=ApiLatencyBenchmark -Dbenchmark.users=100000 -Dbenchmark.endpoints='users\.get.*'
+ * mvn test -Dtest=ApiLatencyBenchmark -Dbenchmark.rate.users.get=2000 -Dbenchmark.duration=60
+ * </pre>
+ *
+ * A rate of 0 skips an endpoint. The dataset and request sequence are deterministic for a given
+ * configuration. Results are printed and written to target/api-latency.csv.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("API latency benchmark")
+class ApiLatencyBenchmark {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 10_000);
+    private static final int SUBJECTS_PER_USER = Integer.getInteger("benchmark.subjects-per-user", 3);
+    private static final int DEPARTMENTS = 10;
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("benchmark.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("benchmark.duration", 20));
+    private static final Pattern ENDPOINTS = Pattern.compile(System.getProperty("benchmark.endpoints", ".*"));
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final String USERS_CURSOR = "/api/users?mode=cursor&size=20";
+    private static final String SUBJECTS_CURSOR = "/api/subjects?mode=cursor&size=20";
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserNameIndex userNameIndex;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final List<String> userIds = new ArrayList<>();
+    private final List<String> deletableUserIds = new ArrayList<>();
+    private final List<String> subjectIds = new ArrayList<>();
+    private final List<String> userETags = new ArrayList<>();
+    private final List<String> userCursors = new ArrayList<>();
+    private final List<String> subjectCursors = new ArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("custom.datasource.url", () -> MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("custom.datasource.username", MYSQL::getUsername);
+        registry.add("custom.datasource.password", MYSQL::getPassword);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.com.training.practice", () -> "WARN");
+    }
+
+    @Test
+    @DisplayName("Measure p50/p99/p99.9 latency and throughput per endpoint at fixed arrival rates")
+    void measureEndpoints() throws Exception {
+        List<Endpoint> endpoints = endpoints().stream()
+                .filter(endpoint -> endpoint.rate() > 0 && ENDPOINTS.matcher(endpoint.name()).matches())
+                .toList();
+        seed(endpoints);
+
+        System.out.printf("users=%d subjects/user=%d warmup=%ds duration=%ds%n",
+                USERS, SUBJECTS_PER_USER, WARMUP.toSeconds(), DURATION.toSeconds());
+        System.out.println(LatencyRecorder.HEADER);
+        List<String> csv = new ArrayList<>();
+        csv.add("endpoint,target_rps,rps,p50_ms,p99_ms,p999_ms,max_ms,errors,rejected_503");
+        for (Endpoint endpoint : endpoints) {
+            drive(endpoint, WARMUP, 0, new LatencyRecorder());
+            LatencyRecorder recorder = new LatencyRecorder();
+            double seconds = drive(endpoint, DURATION, endpoint.rate() * WARMUP.toSeconds(), recorder);
+            LatencyRecorder.Summary summary = recorder.summarize(seconds);
+            System.out.println(summary.format(endpoint.name(), endpoint.rate()));
+            csv.add(summary.csv(endpoint.name(), endpoint.rate()));
+        }
+        Files.write(Path.of("target", "api-latency.csv"), csv);
+    }
+
+    private List<Endpoint> endpoints() {
+        return List.of(
+                // UserController reads
+                endpoint("users.list", 200, i -> get("/api/users?page=" + i % pages(USERS, 20) + "&size=20")),
+                endpoint("users.list.subjects", 100, i -> get("/api/users?page=" + i % pages(USERS, 20) + "&size=20&include=subjects")),
+                endpoint("users.cursor", 200, i -> get(cursorPage(USERS_CURSOR, userCursors, i))),
+                endpoint("users.get", 500, i -> get("/api/users/" + pick(userIds, i))),
+                endpoint("users.get.not-modified", 500, i -> {
+                    int index = (int) (i % userETags.size());
+                    return HttpRequest.newBuilder(uri("/api/users/" + userIds.get(index)))
+                            .header("If-None-Match", userETags.get(index)).GET().build();
+                }),
+                endpoint("users.department", 20, i -> get("/api/users/department?dept=D" + i % DEPARTMENTS)),
+                endpoint("users.status", 5, i -> get("/api/users/status/ACTIVE")),
+                endpoint("users.department.status", 20, i -> get("/api/users/department/D" + i % DEPARTMENTS + "/status/ACTIVE")),
+                endpoint("users.search", 200, i -> get("/api/users/search?q=User%20" + i % 1_000 + "&limit=20")),
+                endpoint("users.stats", 500, i -> get("/api/users/stats")),
+                endpoint("users.stats.count", 500, i -> get("/api/users/stats/count?status=ACTIVE")),
+                endpoint("users.export", 1, i -> get("/api/users/export")),
+                // UserController writes
+                endpoint("users.create", 100, i -> post("/api/users",
+                        "{\"name\":\"Created " + i + "\",\"email\":\"created" + i + "@example.com\",\"department\":\"D1\"}")),
+                endpoint("users.batch", 2, i -> post("/api/users/batch", LongStream.range(0, 100)
+                        .mapToObj(j -> "{\"name\":\"Batch " + i + "-" + j + "\",\"email\":\"batch" + i + "-" + j + "@example.com\"}")
+                        .collect(Collectors.joining(",", "[", "]")))),
+                endpoint("users.update", 100, i -> json("PUT", "/api/users/" + pick(userIds, i),
+                        "{\"name\":\"Renamed " + i + "\"}")),
+                endpoint("users.status.update", 200, i -> json("PATCH", "/api/users/" + pick(userIds, i)
+                        + "/status?status=" + (i / userIds.size() % 2 == 0 ? "INACTIVE" : "ACTIVE"), "")),
+                endpoint("users.subject.add", 100, i -> json("PATCH", "/api/users/" + pick(userIds, i) + "/subject",
+                        "{\"name\":\"Added " + i + "\",\"description\":\"Added by benchmark\",\"code\":\"ADD\"}")),
+                endpoint("users.delete", 50, i -> HttpRequest.newBuilder(uri("/api/users/" + deletableUserIds.get((int) i)))
+                        .header("X-Confirm-Delete", "true").DELETE().build()),
+                // UserV2Controller
+                endpoint("users.v2.get", 500, i -> get("/api/users/v2/" + pick(userIds, i))),
+                // SubjectController
+                endpoint("subjects.list", 200, i -> get("/api/subjects?page=" + i % pages((long) USERS * SUBJECTS_PER_USER, 20) + "&size=20")),
+                endpoint("subjects.cursor", 200, i -> get(cursorPage(SUBJECTS_CURSOR, subjectCursors, i))),
+                endpoint("subjects.get", 500, i -> get("/api/subjects/" + pick(subjectIds, i))),
+                endpoint("subjects.search", 200, i -> get("/api/subjects/search?q=Subject%20" + i % SUBJECTS_PER_USER + "&limit=20")),
+                endpoint("subjects.update", 100, i -> json("PATCH", "/api/subjects/" + pick(subjectIds, i),
+                        "{\"description\":\"Updated " + i + "\"}")));
+    }
+
+    /**
+     * Sends the endpoint's requests on a fixed schedule and records latency from the scheduled send time.
+     */
+    private double drive(Endpoint endpoint, Duration duration, long firstRequest, LatencyRecorder recorder) {
+        long intervalNanos = 1_000_000_000L / endpoint.rate();
+        long requests = endpoint.rate() * duration.toSeconds();
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            calls.add(client.sendAsync(endpoint.request().apply(firstRequest + i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) ->
+                            recorder.record(System.nanoTime() - scheduled, response != null ? response.statusCode() : -1)));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private void seed(List<Endpoint> endpoints) throws IOException, InterruptedException {
+        // Deleted users can't be deleted twice, so every scheduled DELETE gets its own user
+        long deletable = endpoints.stream()
+                .filter(endpoint -> endpoint.name().equals("users.delete"))
+                .mapToLong(endpoint -> endpoint.rate() * (WARMUP.toSeconds() + DURATION.toSeconds()))
+                .sum();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> subjects = new ArrayList<>();
+        for (int i = 0; i < USERS + deletable; i++) {
+            String userId = UuidV7Generator.next().toString();
+            (i < USERS ? userIds : deletableUserIds).add(userId);
+            users.add(new Object[] {userId, "User " + i, "user" + i + "@example.com", "+84 90 " + (1_000_000 + i),
+                    "D" + i % DEPARTMENTS, i % 5 == 0 ? "INACTIVE" : "ACTIVE", now, now});
+            for (int j = 0; j < SUBJECTS_PER_USER; j++) {
+                String subjectId = UuidV7Generator.next().toString();
+                if (i < USERS) {
+                    subjectIds.add(subjectId);
+                }
+                subjects.add(new Object[] {subjectId, "Subject " + j + " of user " + i, "Seeded subject", "S" + String.format("%02d", j % 100), userId, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, phone, department, status, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", users, INSERT_BATCH_SIZE, (statement, row) -> {
+                    for (int k = 0; k < row.length; k++) {
+                        statement.setObject(k + 1, row[k]);
+                    }
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO subjects (id, name, description, code, user_id, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)", subjects, INSERT_BATCH_SIZE, (statement, row) -> {
+                    for (int k = 0; k < row.length; k++) {
+                        statement.setObject(k + 1, row[k]);
+                    }
+                });
+
+        // The in-memory name index and statistics were built at startup, before the rows existed
+        userNameIndex.rebuild();
+        userStatsService.reconcile();
+
+        // ETags for the conditional GET scenario
+        for (String userId : userIds.subList(0, Math.min(1_000, userIds.size()))) {
+            HttpResponse<Void> response = client.send(get("/api/users/" + userId), HttpResponse.BodyHandlers.discarding());
+            userETags.add(response.headers().firstValue("ETag").orElseThrow());
+        }
+
+        // Cursor of every page, so the cursor scenarios scroll through the whole table instead of repeating page one
+        if (endpoints.stream().anyMatch(endpoint -> endpoint.name().equals("users.cursor"))) {
+            userCursors.addAll(walkCursor(USERS_CURSOR));
+        }
+        if (endpoints.stream().anyMatch(endpoint -> endpoint.name().equals("subjects.cursor"))) {
+            subjectCursors.addAll(walkCursor(SUBJECTS_CURSOR));
+        }
+    }
+
+    /**
+     * Follows nextCursor from the first page to the last, the first page is the null cursor.
+     */
+    private List<String> walkCursor(String path) throws IOException, InterruptedException {
+        List<String> cursors = new ArrayList<>();
+        String cursor = null;
+        do {
+            cursors.add(cursor);
+            HttpResponse<String> response = client.send(get(withCursor(path, cursor)), HttpResponse.BodyHandlers.ofString());
+            JsonNode page = objectMapper.readTree(response.body()).path("data");
+            cursor = page.path("hasNext").asBoolean() ? page.path("nextCursor").asText() : null;
+        } while (cursor != null);
+        return cursors;
+    }
+
+    // Pages in scroll order, wrapping around, each request continues the walk where the previous one left off
+    private static String cursorPage(String path, List<String> cursors, long i) {
+        return withCursor(path, cursors.get((int) (i % cursors.size())));
+    }
+
+    private static String withCursor(String path, String cursor) {
+        return cursor == null ? path : path + "&after=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+
+    private static Endpoint endpoint(String name, long defaultRate, LongFunction<HttpRequest> request) {
+        return new Endpoint(name, Long.getLong("benchmark.rate." + name, defaultRate), request);
+    }
+
+    private static String pick(List<String> ids, long i) {
+        // Stride through the ids so consecutive requests don't hit neighbouring rows
+        return ids.get((int) (i * 7_919 % ids.size()));
+    }
+
+    private static long pages(long rows, int pageSize) {
+        return Math.max(1, rows / pageSize);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return json("POST", path, body);
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, body.isEmpty() ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private record Endpoint(String name, long rate, LongFunction<HttpRequest> request) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.training.practice.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects per-request latencies of one load run and reports throughput and percentiles
+ */
+final class LatencyRecorder {
+
+    static final String HEADER = String.format("%-28s %9s %9s %9s %9s %9s %9s %7s %7s",
+            "endpoint", "target/s", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "503s");
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    private int rejected;
+
+    synchronized void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status == 503) {
+            rejected++;
+        }
+        if (status < 200 || status >= 400) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(count / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), count == 0 ? 0 : sorted[count - 1] / 1e6, errors, rejected);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    // rejected counts the 503s among the errors, requests shed by a bulkhead rather than failed
+    record Summary(double throughput, double p50, double p99, double p999, double max, int errors, int rejected) {
+
+        String format(String name, double targetRate) {
+            return String.format("%-28s %9.0f %9.1f %9.1f %9.1f %9.1f %9.1f %7d %7d",
+                    name, targetRate, throughput, p50, p99, p999, max, errors, rejected);
+        }
+
+        String csv(String name, double targetRate) {
+            return String.format(Locale.ROOT, "%s,%.0f,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d",
+                    name, targetRate, throughput, p50, p99, p999, max, errors, rejected);
+        }
+    }
+}
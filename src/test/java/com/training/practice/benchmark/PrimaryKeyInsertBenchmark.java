@@ -0,0 +1,103 @@
+package com.training.practice.benchmark;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.training.practice.id.UuidV7Generator;
+
+/**
+ * Insert throughput of the users table shape with random (v4) vs time-ordered (v7) ids,
+ * stored as char(36) and as binary(16). Not picked up by a plain "mvn test", run it with:
+ *
+ * <pre>mvn test -Dtest=PrimaryKeyInsertBenchmark -Dbenchmark.rows=500000</pre>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Primary key insert benchmark")
+class PrimaryKeyInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @Test
+    @DisplayName("Compare v4/v7 ids stored as char(36) and binary(16)")
+    void compareKeyLayouts() throws SQLException {
+        String url = MYSQL.getJdbcUrl() + "?rewriteBatchedStatements=true";
+        try (Connection connection = DriverManager.getConnection(url, MYSQL.getUsername(), MYSQL.getPassword())) {
+            System.out.printf("%-22s %12s %12s %12s%n", "layout", "rows/s", "data MB", "index MB");
+            run(connection, "char36_v4", "char(36)", UUID::randomUUID, false);
+            run(connection, "char36_v7", "char(36)", UuidV7Generator::next, false);
+            run(connection, "binary16_v4", "binary(16)", UUID::randomUUID, true);
+            run(connection, "binary16_v7", "binary(16)", UuidV7Generator::next, true);
+        }
+    }
+
+    private static void run(Connection connection, String table, String idType, Supplier<UUID> ids, boolean binary)
+            throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+            ddl.execute("CREATE TABLE " + table + " (id " + idType + " NOT NULL PRIMARY KEY, "
+                    + "name varchar(100) NOT NULL, email varchar(150) NOT NULL UNIQUE, created_at datetime(6))");
+        }
+
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, name, email, created_at) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                UUID id = ids.get();
+                if (binary) {
+                    insert.setBytes(1, toBytes(id));
+                } else {
+                    insert.setString(1, id.toString());
+                }
+                insert.setString(2, "User " + i);
+                insert.setString(3, "user" + i + "@example.com");
+                insert.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                insert.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        connection.setAutoCommit(true);
+
+        try (Statement stats = connection.createStatement()) {
+            stats.execute("ANALYZE TABLE " + table);
+            try (ResultSet size = stats.executeQuery("SELECT data_length, index_length FROM information_schema.tables "
+                    + "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                size.next();
+                System.out.printf("%-22s %12.0f %12.1f %12.1f%n", table, ROWS / seconds,
+                        size.getLong(1) / 1048576.0, size.getLong(2) / 1048576.0);
+            }
+        }
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,154 @@
+package com.training.practice.benchmark;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+/**
+ * Load comparison of the platform-thread and virtual-thread request modes: many concurrent clients hit a
+ * database-backed list endpoint and a Postman endpoint whose upstream answers after a fixed delay. Not
+ * picked up by a plain "mvn test", run it once per mode and compare the tables:
+ *
+ * <pre>
+ * mvn test -Dtest=ThreadModeLoadBenchmark -Dspring.threads.virtual.enabled=false
+ * mvn test -Dtest=ThreadModeLoadBenchmark -Dspring.threads.virtual.enabled=true   (Java 21+ runtime)
+ * </pre>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("Thread mode load benchmark")
+class ThreadModeLoadBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int UPSTREAM_DELAY_MS = Integer.getInteger("benchmark.upstream-delay-ms", 100);
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final WireMockServer UPSTREAM = new WireMockServer(options().dynamicPort());
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        UPSTREAM.start();
+        UPSTREAM.stubFor(get(urlPathMatching("/users/\\d+")).willReturn(aResponse()
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"id\":1,\"name\":\"Upstream User\",\"email\":\"upstream@example.com\",\"status\":\"active\"}")
+                .withFixedDelay(UPSTREAM_DELAY_MS)));
+
+        registry.add("custom.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("custom.datasource.username", MYSQL::getUsername);
+        registry.add("custom.datasource.password", MYSQL::getPassword);
+        registry.add("custom.postman.profile.host.base-url", UPSTREAM::baseUrl);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("server.tomcat.max-connections", () -> String.valueOf(CONCURRENCY * 2));
+        registry.add("logging.level.com.training.practice", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.stop();
+    }
+
+    @Test
+    @DisplayName("Measure throughput and latency of database and upstream bound endpoints")
+    void compareThreadModes() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        seedUsers(client);
+
+        System.out.printf("mode=%s concurrency=%d requests=%d upstream delay=%d ms%n",
+                virtualThreads ? "virtual" : "platform", CONCURRENCY, REQUESTS, UPSTREAM_DELAY_MS);
+        System.out.printf("%-20s %10s %10s %10s %10s %10s%n", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms", "503s");
+        run(client, "database", i -> "/api/users?page=" + (i % 50) + "&size=20");
+        run(client, "upstream", i -> "/api/external/postman/users/" + (i % 100 + 1));
+        run(client, "mixed", i -> i % 2 == 0
+                ? "/api/users?page=" + (i % 50) + "&size=20"
+                : "/api/external/postman/users/" + (i % 100 + 1));
+    }
+
+    private void seedUsers(HttpClient client) throws Exception {
+        for (int batch = 0; batch < 2; batch++) {
+            int offset = batch * 1_000;
+            String body = IntStream.range(offset, offset + 1_000)
+                    .mapToObj(i -> "{\"name\":\"User " + i + "\",\"email\":\"user" + i + "@example.com\",\"department\":\"D" + (i % 10) + "\"}")
+                    .collect(Collectors.joining(",", "[", "]"));
+            client.send(HttpRequest.newBuilder(uri("/api/users/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private void run(HttpClient client, String name, IntFunction<String> paths) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger rejected = new AtomicInteger();
+        List<CompletableFuture<?>> calls = new ArrayList<>(REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            calls.add(client.sendAsync(HttpRequest.newBuilder(uri(paths.apply(i))).GET().build(),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies.add(System.nanoTime() - sent);
+                        if (response != null && response.statusCode() == 503) {
+                            rejected.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%-20s %10.0f %10.1f %10.1f %10.1f %10d%n", name, REQUESTS / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6, rejected.get());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,79 @@
+package com.training.practice.benchmark.jmh;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.practice.dto.ApiResponseDTO;
+import com.training.practice.dto.UserDTO;
+
+/**
+ * Building and serializing the ApiResponseDTO&lt;Page&lt;UserDTO&gt;&gt; envelope returned by GET /api/users,
+ * with the ObjectMapper setup Spring Boot uses (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    // Default and maximum page size from custom.pagination
+    @Param({"6", "100"})
+    private int pageSize;
+
+    // List endpoints omit subjects unless called with include=subjects
+    @Param({"0", "5"})
+    private int subjects;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<UserDTO> users;
+    private ApiResponseDTO<Page<UserDTO>> response;
+
+    @Setup
+    public void setUp() {
+        users = IntStream.range(0, pageSize)
+                .mapToObj(i -> BenchmarkFixtures.userDTO(i, subjects))
+                .toList();
+        response = envelope();
+    }
+
+    @Benchmark
+    public ApiResponseDTO<Page<UserDTO>> envelope() {
+        Page<UserDTO> page = new PageImpl<>(users, PageRequest.of(0, pageSize), 10_000);
+        ApiResponseDTO<Page<UserDTO>> envelope = ApiResponseDTO.success(page);
+        envelope.setRequestId(UUID.randomUUID().toString());
+        return envelope;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] envelopeAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(envelope());
+    }
+}
@@ -0,0 +1,93 @@
+package com.training.practice.benchmark.jmh;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.training.practice.dto.SubjectDTO;
+import com.training.practice.dto.UserDTO;
+import com.training.practice.dto.external.PostmanClientResponse;
+import com.training.practice.entity.Subject;
+import com.training.practice.entity.User;
+import com.training.practice.id.UuidV7Generator;
+import com.training.practice.repository.projection.UserRow;
+
+/**
+ * Realistic field sizes for the mapping and serialization benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 9, 30, 12, 345_678_000);
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 6, 2, 17, 4, 51, 987_654_000);
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user(int index, int subjects) {
+        User user = User.builder()
+                .id(UuidV7Generator.next())
+                .name("Benchmark User " + index)
+                .email("benchmark.user" + index + "@example.com")
+                .phone("+84 90 123 " + String.format("%04d", index % 10_000))
+                .department("Engineering")
+                .status(User.UserStatus.ACTIVE)
+                .createdAt(CREATED_AT)
+                .updatedAt(UPDATED_AT)
+                .version(3L)
+                .build();
+        for (int i = 0; i < subjects; i++) {
+            user.getSubjects().add(Subject.builder()
+                    .id(UuidV7Generator.next())
+                    .name("Subject " + i + " of user " + index)
+                    .description("Introductory course number " + i)
+                    .code("S" + String.format("%02d", i % 100))
+                    .user(user)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(UPDATED_AT)
+                    .version(1L)
+                    .build());
+        }
+        return user;
+    }
+
+    static UserRow userRow(int index) {
+        User user = user(index, 0);
+        return new UserRow(user.getId(), user.getName(), user.getEmail(), user.getPhone(), user.getDepartment(),
+                user.getStatus(), user.getCreatedAt(), user.getUpdatedAt(), user.getVersion());
+    }
+
+    static UserDTO userDTO(int index, int subjects) {
+        User user = user(index, subjects);
+        List<SubjectDTO> subjectDTOs = new ArrayList<>(subjects);
+        for (Subject subject : user.getSubjects()) {
+            subjectDTOs.add(SubjectDTO.builder()
+                    .id(subject.getId().toString())
+                    .name(subject.getName())
+                    .description(subject.getDescription())
+                    .code(subject.getCode())
+                    .createdAt(subject.getCreatedAt())
+                    .updatedAt(subject.getUpdatedAt())
+                    .build());
+        }
+        return UserDTO.builder()
+                .id(user.getId().toString())
+                .name(user.getName())
+                .email(user.getEmail())
+                .phone(user.getPhone())
+                .department(user.getDepartment())
+                .status(user.getStatus())
+                .subjects(subjectDTOs)
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+
+    static PostmanClientResponse postmanClientResponse(long id) {
+        return new PostmanClientResponse(id, "Postman User " + id, "postman.user" + id + "@example.com",
+                id % 3 == 0 ? "inactive" : "active",
+                Map.of("USER", true, "ADMIN", id % 10 == 0, "AUDITOR", false),
+                "2025-01-15T09:30:12Z", "2025-06-02T17:04:51Z");
+    }
+}
@@ -0,0 +1,83 @@
+package com.training.practice.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.training.practice.dto.UserDTO;
+import com.training.practice.dto.UserUpdateDTO;
+import com.training.practice.dto.UserV2DTO;
+import com.training.practice.entity.User;
+import com.training.practice.mapper.SubjectMapper;
+import com.training.practice.mapper.SubjectMapperImpl;
+import com.training.practice.mapper.UserMapper;
+import com.training.practice.mapper.UserMapperImpl;
+import com.training.practice.repository.projection.UserRow;
+
+/**
+ * Per-call cost of the UserMapper/SubjectMapper conversions used on the request path, for users with
+ * 0, 5 and 50 subjects. Run with "mvn -Pjmh test-compile exec:exec" (gc profiler on) to also see B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"0", "5", "50"})
+    private int subjects;
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private final SubjectMapper subjectMapper = new SubjectMapperImpl();
+
+    private User user;
+    private UserRow userRow;
+    private UserUpdateDTO update;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(1, subjects);
+        userRow = BenchmarkFixtures.userRow(1);
+        update = UserUpdateDTO.builder()
+                .name("Renamed User")
+                .department("Research")
+                .status(User.UserStatus.INACTIVE)
+                .build();
+    }
+
+    @Benchmark
+    public UserDTO userEntityToDTO() {
+        return userMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public UserV2DTO userEntityToV2DTO() {
+        return userMapper.toV2DTO(user);
+    }
+
+    @Benchmark
+    public UserDTO userRowToDTO() {
+        // Read endpoints map the projection and attach the subjects one by one
+        UserDTO dto = userMapper.toDTO(userRow);
+        dto.setSubjects(user.getSubjects().stream().map(subjectMapper::toDTO).toList());
+        return dto;
+    }
+
+    @Benchmark
+    public User updateEntityFromUpdateDTO() {
+        userMapper.updateEntityFromUpdateDTO(update, user);
+        return user;
+    }
+}
@@ -0,0 +1,62 @@
+package com.training.practice.benchmark.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.training.practice.dto.backend.PostmanResponse;
+import com.training.practice.dto.external.PostmanClientResponse;
+import com.training.practice.mapper.PostmanClientMapper;
+import com.training.practice.mapper.PostmanClientMapperImpl;
+
+/**
+ * Cost of mapping upstream Postman responses, including the @AfterMapping status formatting,
+ * for a single user and for user lists of 6 and 100 entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostmanClientMapperBenchmark {
+
+    // 1 is the cost of a single-user GET /users/{id}
+    @Param({"1", "6", "100"})
+    private int size;
+
+    private final PostmanClientMapper mapper = new PostmanClientMapperImpl();
+
+    private List<PostmanClientResponse> list;
+
+    @Setup
+    public void setUp() {
+        list = LongStream.rangeClosed(1, size)
+                .mapToObj(BenchmarkFixtures::postmanClientResponse)
+                .toList();
+    }
+
+    @Benchmark
+    public List<PostmanResponse> toBeInternals() {
+        // Like PostmanClientService.getUsersByRole, the list method applies @AfterMapping per element
+        return mapper.toBeInternals(list);
+    }
+
+    @Benchmark
+    public List<PostmanResponse> toBeInternalPerElement() {
+        // Like PostmanClientService.getAllUsers
+        return list.stream().map(mapper::toBeInternal).toList();
+    }
+}
@@ -0,0 +1,234 @@
+package com.training.practice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.training.practice.client.PostmanClient;
+import com.training.practice.client.ReactivePostmanClient;
+import com.training.practice.config.CacheConfig;
+import com.training.practice.config.PostmanBatchConfig;
+import com.training.practice.dto.backend.PostmanRequest;
+import com.training.practice.dto.external.PostmanClientResponse;
+import com.training.practice.mapper.PostmanClientMapperImpl;
+import com.training.practice.service.PostmanClientService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for PostmanCache
+ */
+@DisplayName("PostmanCache Tests")
+class PostmanCacheTest {
+
+    private static final Duration NEVER = Duration.ofMinutes(10);
+    private static final Duration SHORT = Duration.ofMillis(100);
+
+    private final PostmanClient postmanClient = mock(PostmanClient.class);
+    private final ReactivePostmanClient reactivePostmanClient = mock(ReactivePostmanClient.class);
+    private PostmanCache postmanCache;
+
+    @AfterEach
+    void tearDown() {
+        postmanCache.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should serve a cached entry without calling the upstream again")
+    void shouldServeHitsFromCache() {
+        postmanCache = newCache(NEVER);
+        when(postmanClient.getUserById(1L)).thenReturn(user(1L, "v1"));
+
+        assertThat(postmanCache.getUser(1L).getName()).isEqualTo("v1");
+        assertThat(postmanCache.getUser(1L).getName()).isEqualTo("v1");
+        assertThat(postmanCache.getUserAsync(1L).block().getName()).isEqualTo("v1");
+
+        verify(postmanClient, times(1)).getUserById(1L);
+        verify(reactivePostmanClient, never()).getUserById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should serve a stale entry at once while it is reloaded in the background")
+    void shouldServeStaleEntryWhileReloading() throws Exception {
+        postmanCache = newCache(SHORT);
+        CountDownLatch reloadStarted = new CountDownLatch(1);
+        CountDownLatch releaseReload = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(postmanClient.getUserById(1L)).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                return user(1L, "v1");
+            }
+            reloadStarted.countDown();
+            releaseReload.await(5, TimeUnit.SECONDS);
+            return user(1L, "v2");
+        });
+
+        postmanCache.getUser(1L);
+        Thread.sleep(SHORT.toMillis() * 2);
+
+        // The read triggers the reload, which stays blocked, and still answers with the old value
+        assertThat(postmanCache.getUser(1L).getName()).isEqualTo("v1");
+        assertThat(reloadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(postmanCache.getUser(1L).getName()).isEqualTo("v1");
+
+        releaseReload.countDown();
+        waitUntil(() -> "v2".equals(postmanCache.getUser(1L).getName()));
+        assertThat(postmanCache.getUser(1L).getName()).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should keep the old entry when a background reload fails")
+    void shouldKeepOldEntryWhenReloadFails() throws Exception {
+        postmanCache = newCache(SHORT);
+        when(postmanClient.getUserById(1L))
+                .thenReturn(user(1L, "v1"))
+                .thenThrow(new IllegalStateException("upstream down"));
+
+        postmanCache.getUser(1L);
+        Thread.sleep(SHORT.toMillis() * 2);
+
+        assertThat(postmanCache.getUser(1L).getName()).isEqualTo("v1");
+        verify(postmanClient, timeout(5000).times(2)).getUserById(1L);
+        assertThat(postmanCache.getUser(1L).getName()).isEqualTo("v1");
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the lists when a user is created")
+    void shouldInvalidateListsOnCreate() {
+        PostmanClientService service = primedService();
+        when(postmanClient.createUser(any())).thenReturn(user(3L, "new"));
+
+        service.createUser(new PostmanRequest());
+        readEverything();
+
+        verifyListsReloaded();
+        verify(postmanClient, times(1)).getUserById(1L);
+        verify(postmanClient, times(1)).getUserPermissions(1L);
+        verifyOtherUserKept();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the user, its permissions and the lists on a full update")
+    void shouldInvalidateUserOnFullUpdate() {
+        PostmanClientService service = primedService();
+        when(postmanClient.updateFullUser(any(), any())).thenReturn(user(1L, "v2"));
+
+        service.updateFullUser(1L, new PostmanRequest());
+
+        verifyUserInvalidated();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the user, its permissions and the lists on a partial update")
+    void shouldInvalidateUserOnPartialUpdate() {
+        PostmanClientService service = primedService();
+        when(postmanClient.updatePartialUser(any(), any())).thenReturn(user(1L, "v2"));
+
+        service.updatePartialUser(1L, new PostmanRequest());
+
+        verifyUserInvalidated();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the user, its permissions and the lists on delete")
+    void shouldInvalidateUserOnDelete() {
+        PostmanClientService service = primedService();
+
+        service.deleteUser(1L);
+
+        verifyUserInvalidated();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the user, its permissions and the lists on role assignment")
+    void shouldInvalidateUserOnAssignRole() {
+        PostmanClientService service = primedService();
+        when(postmanClient.assignRole(any(), anyString())).thenReturn(user(1L, "v2"));
+
+        service.assignRole(1L, "admin");
+
+        verifyUserInvalidated();
+    }
+
+    private PostmanCache newCache(Duration refreshAfterWrite) {
+        CacheConfig cacheConfig = new CacheConfig();
+        CacheConfig.Postman config = cacheConfig.getPostman();
+        config.setAllUsers(new CacheConfig.Refreshing(1, NEVER, refreshAfterWrite));
+        config.setUsers(new CacheConfig.Refreshing(100, NEVER, refreshAfterWrite));
+        config.setUsersByRole(new CacheConfig.Refreshing(100, NEVER, refreshAfterWrite));
+        config.setPermissions(new CacheConfig.Refreshing(100, NEVER, refreshAfterWrite));
+        config.setRefreshThreads(1);
+        return new PostmanCache(cacheConfig, postmanClient, reactivePostmanClient);
+    }
+
+    // Every read entry cached once, so a second upstream call per entry means it was invalidated
+    private PostmanClientService primedService() {
+        postmanCache = newCache(NEVER);
+        when(postmanClient.getAllUsers()).thenReturn(List.of(user(1L, "v1"), user(2L, "v1")));
+        when(postmanClient.getUsersByRole("admin")).thenReturn(List.of(user(1L, "v1")));
+        when(postmanClient.getUserById(anyLong())).thenAnswer(invocation -> user(invocation.getArgument(0), "v1"));
+        when(postmanClient.getUserPermissions(anyLong())).thenReturn(List.of("read"));
+        readEverything();
+        return new PostmanClientService(postmanClient, new PostmanClientMapperImpl(), postmanCache,
+                reactivePostmanClient, new PostmanBatchConfig(), new SimpleMeterRegistry());
+    }
+
+    private void readEverything() {
+        postmanCache.getAllUsers();
+        postmanCache.getUsersByRole("admin");
+        postmanCache.getUser(1L);
+        postmanCache.getUser(2L);
+        postmanCache.getPermissions(1L);
+        postmanCache.getPermissions(2L);
+    }
+
+    private void verifyUserInvalidated() {
+        readEverything();
+
+        verifyListsReloaded();
+        verify(postmanClient, times(2)).getUserById(1L);
+        verify(postmanClient, times(2)).getUserPermissions(1L);
+        verifyOtherUserKept();
+    }
+
+    private void verifyListsReloaded() {
+        verify(postmanClient, times(2)).getAllUsers();
+        verify(postmanClient, times(2)).getUsersByRole("admin");
+    }
+
+    private void verifyOtherUserKept() {
+        verify(postmanClient, times(1)).getUserById(2L);
+        verify(postmanClient, times(1)).getUserPermissions(2L);
+    }
+
+    private static PostmanClientResponse user(Long id, String name) {
+        return new PostmanClientResponse(id, name, "user" + id + "@example.com", "ACTIVE",
+                Map.of("member", true), null, null);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.training.practice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for SingleFlight
+ */
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight call between concurrent callers of the same key")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = submitAll(1L, () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "user-1";
+        });
+
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's exception to every waiting caller")
+    void shouldShareFailures() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> results = submitAll(1L, () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("upstream down");
+        });
+
+        waitUntilCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should let blocking callers share an in-flight async call")
+    void shouldShareAsyncCallsWithBlockingCallers() throws Exception {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> asyncResult = singleFlight.executeAsync(1L, () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        Future<String> blockingResult = executor.submit(() -> singleFlight.execute(1L, () -> "not called"));
+
+        waitUntilCoalesced(1);
+        upstream.complete("user-1");
+
+        assertThat(asyncResult.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+        assertThat(blockingResult.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should run a new call once the previous one has completed")
+    void shouldNotRememberResults() {
+        singleFlight.execute(1L, () -> "first");
+
+        assertThat(singleFlight.execute(1L, () -> "second")).isEqualTo("second");
+        assertThat(singleFlight.execute(2L, () -> "other")).isEqualTo("other");
+        assertThat(singleFlight.getCoalescedCount()).isZero();
+    }
+
+    private List<Future<String>> submitAll(Long key, Supplier<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(key, call)));
+        }
+        return results;
+    }
+
+    private void waitUntilCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
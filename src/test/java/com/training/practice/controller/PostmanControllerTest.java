@@ -1,5 +1,6 @@
 package com.training.practice.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
@@ -11,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,14 +27,20 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.training.practice.PracticeApplication;
 import com.training.practice.config.SecurityConfig;
+import com.training.practice.dto.PostmanUserBatchResultDTO;
+import com.training.practice.dto.PostmanUserProfileDTO;
 import com.training.practice.dto.backend.PostmanRequest;
 import com.training.practice.dto.backend.PostmanResponse;
 import com.training.practice.service.PostmanClientService;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * Simple Controller tests for PostmanController
  */
@@ -86,6 +94,101 @@ class PostmanControllerTest {
         verify(postmanClientService, times(1)).getUserById(123L);
     }
 
+    @Test
+    @DisplayName("Should get user by ID asynchronously")
+    void shouldGetUserByIdAsynchronously() throws Exception {
+        when(postmanClientService.getUserByIdAsync(123L)).thenReturn(Mono.just(mockResponse));
+
+        MvcResult started = mockMvc.perform(get("/api/external/postman/async/users/{id}", 123L)
+                .header("X-Request-ID", "async-123"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Request-ID", "async-123"))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.requestId").value("async-123"))
+                .andExpect(jsonPath("$.data.id").value(1))
+                .andExpect(jsonPath("$.data.name").value("John Doe"));
+
+        verify(postmanClientService, times(1)).getUserByIdAsync(123L);
+    }
+
+    @Test
+    @DisplayName("Should return partial results for a batch of user IDs")
+    void shouldGetUsersByIdsWithPartialResults() throws Exception {
+        when(postmanClientService.getUsersByIdsAsync(List.of(1L, 404L))).thenReturn(Mono.just(List.of(
+                PostmanUserBatchResultDTO.builder().id(1L).success(true).user(mockResponse).build(),
+                PostmanUserBatchResultDTO.builder().id(404L).success(false).error("Upstream answered 404").build())));
+
+        MvcResult started = mockMvc.perform(get("/api/external/postman/users/batch").param("ids", "1,404"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Batch fetched: 1 found, 1 failed"))
+                .andExpect(jsonPath("$.data[0].user.name").value("John Doe"))
+                .andExpect(jsonPath("$.data[1].success").value(false))
+                .andExpect(jsonPath("$.data[1].error").value("Upstream answered 404"));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch over the ID limit with 400")
+    void shouldRejectOversizedBatch() throws Exception {
+        when(postmanClientService.getUsersByIdsAsync(any()))
+                .thenThrow(new IllegalArgumentException("A batch takes between 1 and 100 user IDs"));
+
+        mockMvc.perform(get("/api/external/postman/users/batch").param("ids", "1,2,3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid request: A batch takes between 1 and 100 user IDs"));
+    }
+
+    @Test
+    @DisplayName("Should return user and permissions in one response")
+    void shouldGetUserProfile() throws Exception {
+        when(postmanClientService.getUserProfileAsync(1L)).thenReturn(Mono.just(PostmanUserProfileDTO.builder()
+                .user(mockResponse)
+                .permissions(List.of("read", "write"))
+                .build()));
+
+        MvcResult started = mockMvc.perform(get("/api/external/postman/users/1/profile"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("User profile fetched successfully"))
+                .andExpect(jsonPath("$.data.user.name").value("John Doe"))
+                .andExpect(jsonPath("$.data.permissions[1]").value("write"));
+    }
+
+    @Test
+    @DisplayName("Should stream users as one JSON object per line")
+    void shouldStreamUsersAsNdjson() throws Exception {
+        PostmanResponse second = new PostmanResponse();
+        second.setId(2L);
+        second.setUserPostmanName("Jane Doe");
+        when(postmanClientService.streamAllUsers()).thenReturn(Flux.just(mockResponse, second));
+
+        MvcResult started = mockMvc.perform(get("/api/external/postman/stream/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The lines are written from the Flux thread, the dispatch waits for the stream to complete
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], PostmanResponse.class).getUserPostmanName()).isEqualTo("John Doe");
+        assertThat(objectMapper.readValue(lines[1], PostmanResponse.class).getUserPostmanName()).isEqualTo("Jane Doe");
+    }
+
     @Test
     @DisplayName("Should get all users successfully")
     void shouldGetAllUsersSuccessfully() throws Exception {
@@ -0,0 +1,45 @@
+package com.training.practice.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for UuidV7Generator
+ */
+@DisplayName("UuidV7Generator Tests")
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Should set the version 7 and IETF variant bits")
+    void shouldSetVersionAndVariant() {
+        UUID id = UuidV7Generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should embed the current Unix time in milliseconds")
+    void shouldEmbedTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+
+        assertThat(id.getMostSignificantBits() >>> 16).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should hand out strictly increasing ids, also within one millisecond")
+    void shouldBeMonotonic() {
+        // The string form sorts like the binary(16) and char(36) columns do
+        String previous = UuidV7Generator.next().toString();
+        for (int i = 0; i < 100_000; i++) {
+            String next = UuidV7Generator.next().toString();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.training.practice.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for RequestIds
+ */
+@DisplayName("RequestIds Tests")
+class RequestIdsTest {
+
+    @Test
+    @DisplayName("Should keep a well-formed caller supplied request ID")
+    void shouldKeepSuppliedId() {
+        assertThat(RequestIds.resolve("create-user_001.a")).isEqualTo("create-user_001.a");
+    }
+
+    @Test
+    @DisplayName("Should generate a version 7 UUID when none is supplied")
+    void shouldGenerateWhenMissing() {
+        assertThat(UUID.fromString(RequestIds.resolve(null)).version()).isEqualTo(7);
+        assertThat(UUID.fromString(RequestIds.resolve("")).version()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should replace IDs that are too long or unsafe to log")
+    void shouldReplaceUnsafeIds() {
+        assertThat(RequestIds.resolve("a".repeat(65))).hasSize(36);
+        assertThat(RequestIds.resolve("abc\nforged log line")).hasSize(36);
+        assertThat(RequestIds.resolve("<script>")).hasSize(36);
+    }
+}
@@ -0,0 +1,66 @@
+package com.training.practice.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.training.practice.entity.User;
+
+/**
+ * Unit tests for KeysetCursorCodec
+ */
+@DisplayName("KeysetCursorCodec Tests")
+class KeysetCursorCodecTest {
+
+    private final KeysetCursorCodec codec = new KeysetCursorCodec(new ObjectMapper());
+
+    @Test
+    @DisplayName("Should round trip keys with their entity types")
+    void shouldRoundTripKeys() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+        LocalDateTime createdAt = LocalDateTime.of(2025, 7, 31, 10, 0, 0);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", createdAt);
+        UUID id = UUID.fromString("01984a3e-5c00-7000-8000-000000000001");
+        keys.put("id", id);
+
+        String cursor = codec.encode(sort, ScrollPosition.forward(keys));
+        KeysetScrollPosition position = codec.decode(cursor, sort, User.class);
+
+        assertThat(position.getKeys()).containsEntry("createdAt", createdAt).containsEntry("id", id);
+        assertThat(position.scrollsForward()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should start from the beginning when no cursor is given")
+    void shouldReturnInitialPositionForMissingCursor() {
+        assertThat(codec.decode(null, Sort.by("id"), User.class).isInitial()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different sort")
+    void shouldRejectCursorForDifferentSort() {
+        String cursor = codec.encode(Sort.by("name"), ScrollPosition.forward(Map.of("name", "John", "id", "a1b2")));
+
+        assertThatThrownBy(() -> codec.decode(cursor, Sort.by("email"), User.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> codec.decode("not-a-cursor!", Sort.by("id"), User.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
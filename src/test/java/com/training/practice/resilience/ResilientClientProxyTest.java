@@ -0,0 +1,216 @@
+package com.training.practice.resilience;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.training.practice.client.PostmanClient;
+import com.training.practice.client.ReactivePostmanClient;
+import com.training.practice.dto.backend.PostmanRequest;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+
+/**
+ * Unit tests for ResilientClientProxy against a WireMock upstream
+ */
+@DisplayName("ResilientClientProxy Tests")
+class ResilientClientProxyTest {
+
+    private static final String USER = "{\"id\":1,\"name\":\"John Doe\",\"email\":\"john.doe@example.com\"}";
+
+    private static final WireMockServer UPSTREAM = new WireMockServer(options().dynamicPort());
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private PostmanClient client;
+    private ReactivePostmanClient reactiveClient;
+
+    @BeforeAll
+    static void startUpstream() {
+        UPSTREAM.start();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.stop();
+    }
+
+    @BeforeEach
+    void setup() {
+        UPSTREAM.resetAll();
+        UpstreamFailurePredicate upstreamFailure = new UpstreamFailurePredicate();
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(upstreamFailure)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        RetryRegistry retries = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(10))
+                .retryOnException(upstreamFailure)
+                .build());
+
+        WebClient webClient = WebClient.builder().baseUrl(UPSTREAM.baseUrl()).build();
+        HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient)).build();
+        client = ResilientClientProxy.wrap(PostmanClient.class, factory.createClient(PostmanClient.class),
+                "postman", circuitBreakers, bulkheads, retries);
+        reactiveClient = ResilientClientProxy.wrap(ReactivePostmanClient.class, factory.createClient(ReactivePostmanClient.class),
+                "postman", circuitBreakers, bulkheads, retries);
+    }
+
+    @Test
+    @DisplayName("Should retry a GET after a 503 and return the later answer")
+    void shouldRetryIdempotentCallAfterServerError() {
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).inScenario("flaky").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(503)).willSetStateTo("recovered"));
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).inScenario("flaky").whenScenarioStateIs("recovered")
+                .willReturn(okJson(USER)));
+
+        assertThat(client.getUserById(1L).getName()).isEqualTo("John Doe");
+        UPSTREAM.verify(2, getRequestedFor(urlEqualTo("/users/1")));
+    }
+
+    @Test
+    @DisplayName("Should retry a GET after the connection is reset")
+    void shouldRetryAfterConnectionReset() {
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).inScenario("reset").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)).willSetStateTo("recovered"));
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).inScenario("reset").whenScenarioStateIs("recovered")
+                .willReturn(okJson(USER)));
+
+        assertThat(client.getUserById(1L).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not retry a 404")
+    void shouldNotRetryClientError() {
+        UPSTREAM.stubFor(get(urlEqualTo("/users/2")).willReturn(aResponse().withStatus(404)));
+
+        assertThatThrownBy(() -> client.getUserById(2L)).isInstanceOf(WebClientResponseException.NotFound.class);
+        UPSTREAM.verify(1, getRequestedFor(urlEqualTo("/users/2")));
+    }
+
+    @Test
+    @DisplayName("Should send a POST only once even when it fails")
+    void shouldNotRetryNonIdempotentCall() {
+        UPSTREAM.stubFor(post(urlEqualTo("/users")).willReturn(aResponse().withStatus(503)));
+
+        assertThatThrownBy(() -> client.createUser(new PostmanRequest()))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        UPSTREAM.verify(1, postRequestedFor(urlEqualTo("/users")));
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after repeated failures and fail fast without calling the upstream")
+    void shouldOpenCircuitAfterRepeatedFailures() {
+        UPSTREAM.stubFor(get(urlEqualTo("/users/3")).willReturn(aResponse().withStatus(500)));
+
+        // Three attempts, then the fourth fills the window and opens the circuit before the next retry
+        assertThatThrownBy(() -> client.getUserById(3L)).isInstanceOf(WebClientResponseException.InternalServerError.class);
+        assertThatThrownBy(() -> client.getUserById(3L)).isInstanceOf(CallNotPermittedException.class);
+        assertThat(circuitBreakers.circuitBreaker("postman-getUserById").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> client.getUserById(3L)).isInstanceOf(CallNotPermittedException.class);
+        assertThatThrownBy(() -> reactiveClient.getUserById(3L).block()).isInstanceOf(CallNotPermittedException.class);
+        assertThat(UPSTREAM.countRequestsMatching(getRequestedFor(urlEqualTo("/users/3")).build()).getCount()).isEqualTo(4);
+        // Other methods keep their own circuit
+        assertThat(circuitBreakers.circuitBreaker("postman-getAllUsers").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should not count 404s towards opening the circuit")
+    void shouldKeepCircuitClosedOnClientErrors() {
+        UPSTREAM.stubFor(get(urlEqualTo("/users/2")).willReturn(aResponse().withStatus(404)));
+
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> client.getUserById(2L)).isInstanceOf(WebClientResponseException.NotFound.class);
+        }
+        assertThat(circuitBreakers.circuitBreaker("postman-getUserById").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should retry the reactive client the same way as the blocking one")
+    void shouldRetryReactiveCall() {
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).inScenario("flaky").whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(502)).willSetStateTo("recovered"));
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).inScenario("flaky").whenScenarioStateIs("recovered")
+                .willReturn(okJson(USER)));
+
+        assertThat(reactiveClient.getUserById(1L).block().getName()).isEqualTo("John Doe");
+        UPSTREAM.verify(2, getRequestedFor(urlEqualTo("/users/1")));
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead limit while the upstream is slow")
+    void shouldRejectCallsWhenBulkheadIsFull() throws Exception {
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).willReturn(okJson(USER).withFixedDelay(500)));
+        CountDownLatch started = new CountDownLatch(2);
+
+        CompletableFuture<?>[] slowCalls = new CompletableFuture<?>[2];
+        for (int i = 0; i < slowCalls.length; i++) {
+            slowCalls[i] = CompletableFuture.runAsync(() -> {
+                started.countDown();
+                client.getUserById(1L);
+            });
+        }
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> client.getUserById(1L)).isInstanceOf(BulkheadFullException.class);
+        CompletableFuture.allOf(slowCalls).get(5, TimeUnit.SECONDS);
+        assertThat(client.getUserById(1L).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should treat only connection errors, timeouts and 5xx as upstream failures")
+    void shouldClassifyUpstreamFailures() {
+        UpstreamFailurePredicate predicate = new UpstreamFailurePredicate();
+        UPSTREAM.stubFor(get(urlEqualTo("/users/1")).willReturn(aResponse().withFault(Fault.EMPTY_RESPONSE)));
+
+        assertThatThrownBy(() -> client.getAllUsers()).satisfies(error -> assertThat(predicate.test(error)).isFalse());
+        assertThatThrownBy(() -> client.getUserById(1L))
+                .isInstanceOf(WebClientRequestException.class)
+                .satisfies(error -> assertThat(predicate.test(error)).isTrue());
+        assertThat(predicate.test(new java.util.concurrent.TimeoutException())).isTrue();
+        assertThat(predicate.test(new IllegalArgumentException())).isFalse();
+    }
+}
@@ -0,0 +1,57 @@
+package com.training.practice.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.training.practice.event.UserChangedEvent;
+import com.training.practice.repository.UserRepository;
+
+/**
+ * Unit tests for UserNameIndex
+ */
+@DisplayName("UserNameIndex Tests")
+class UserNameIndexTest {
+
+    private UserNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserNameIndex(mock(UserRepository.class));
+        index.put("1", "John Doe");
+        index.put("2", "Johnny Walker");
+        index.put("3", "Mary Johnson");
+        index.put("4", "Bob Marley");
+    }
+
+    @Test
+    @DisplayName("Should rank prefix matches before word and infix matches")
+    void shouldRankMatches() {
+        assertThat(index.search("john", 10)).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    @DisplayName("Should return only the top-k matches")
+    void shouldLimitResults() {
+        assertThat(index.search("JOHN", 2)).containsExactly("1", "2");
+    }
+
+    @Test
+    @DisplayName("Should answer queries shorter than a trigram")
+    void shouldSearchShortQueries() {
+        assertThat(index.search("ma", 10)).containsExactly("3", "4");
+    }
+
+    @Test
+    @DisplayName("Should reflect renames and deletions")
+    void shouldApplyChanges() {
+        index.onUserChanged(new UserChangedEvent("1", "Jane Doe", UserChangedEvent.ChangeType.UPDATED, null, null, null, null));
+        index.onUserChanged(new UserChangedEvent("2", "Johnny Walker", UserChangedEvent.ChangeType.DELETED, null, null, null, null));
+
+        assertThat(index.search("john", 10)).containsExactly("3");
+        assertThat(index.search("jane", 10)).containsExactly("1");
+    }
+}
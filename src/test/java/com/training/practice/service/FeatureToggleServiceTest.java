@@ -0,0 +1,54 @@
+package com.training.practice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.training.practice.config.FeaturesConfig;
+import com.training.practice.logging.LogSampling;
+
+/**
+ * Unit tests for FeatureToggleService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeatureToggleService Tests")
+class FeatureToggleServiceTest {
+
+    @Spy
+    private FeaturesConfig featuresConfig = new FeaturesConfig();
+
+    @InjectMocks
+    private FeatureToggleService featureToggleService;
+
+    @AfterEach
+    void tearDown() {
+        LogSampling.configure(true, 1.0);
+    }
+
+    @Test
+    @DisplayName("Should apply a sample rate within 0.0 and 1.0")
+    void shouldUpdateSampleRate() {
+        featureToggleService.updateLogging(true, 0.25);
+
+        assertThat(featureToggleService.getLogSampleRate()).isEqualTo(0.25);
+        assertThat(featureToggleService.isLoggingEnabled()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = { -0.1, 1.5, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY })
+    @DisplayName("Should reject sample rates outside 0.0 and 1.0, including NaN")
+    void shouldRejectInvalidSampleRate(double sampleRate) {
+        assertThatThrownBy(() -> featureToggleService.updateLogging(true, sampleRate))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(featureToggleService.getLogSampleRate()).isEqualTo(1.0);
+    }
+}
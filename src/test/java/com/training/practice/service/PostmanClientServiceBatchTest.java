@@ -0,0 +1,146 @@
+package com.training.practice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.training.practice.cache.PostmanCache;
+import com.training.practice.client.PostmanClient;
+import com.training.practice.client.ReactivePostmanClient;
+import com.training.practice.config.PostmanBatchConfig;
+import com.training.practice.dto.PostmanUserBatchResultDTO;
+import com.training.practice.dto.external.PostmanClientResponse;
+import com.training.practice.mapper.PostmanClientMapperImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for PostmanClientService.getUsersByIdsAsync
+ */
+@DisplayName("PostmanClientService Batch Tests")
+class PostmanClientServiceBatchTest {
+
+    private final PostmanCache postmanCache = mock(PostmanCache.class);
+    private final PostmanBatchConfig batchConfig = new PostmanBatchConfig();
+    private PostmanClientService postmanClientService;
+
+    @BeforeEach
+    void setup() {
+        batchConfig.setMaxIds(10);
+        batchConfig.setMaxConcurrency(2);
+        batchConfig.setItemTimeout(500);
+        postmanClientService = new PostmanClientService(mock(PostmanClient.class), new PostmanClientMapperImpl(),
+                postmanCache, mock(ReactivePostmanClient.class), batchConfig, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should keep at most maxConcurrency lookups in flight")
+    void shouldCapConcurrentLookups() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(postmanCache.getUserAsync(anyLong())).thenAnswer(invocation -> Mono.just(user(invocation.getArgument(0)))
+                .delayElement(Duration.ofMillis(50))
+                .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doOnTerminate(inFlight::decrementAndGet));
+
+        List<PostmanUserBatchResultDTO> results = postmanClientService.getUsersByIdsAsync(ids(1, 6)).block();
+
+        assertThat(results).hasSize(6).allMatch(PostmanUserBatchResultDTO::isSuccess);
+        assertThat(maxInFlight).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should report a lookup slower than the item timeout without holding up the batch")
+    void shouldTimeOutSlowLookups() {
+        when(postmanCache.getUserAsync(1L)).thenReturn(Mono.just(user(1L)));
+        when(postmanCache.getUserAsync(2L)).thenReturn(Mono.never());
+
+        long startedAt = System.nanoTime();
+        List<PostmanUserBatchResultDTO> results = postmanClientService.getUsersByIdsAsync(List.of(1L, 2L)).block();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getError()).isEqualTo("Timed out after 500 ms");
+    }
+
+    @Test
+    @DisplayName("Should report upstream errors and missing users per ID")
+    void shouldReportErrorsPerId() {
+        when(postmanCache.getUserAsync(1L)).thenReturn(Mono.just(user(1L)));
+        when(postmanCache.getUserAsync(2L)).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), "Not Found", null, null, null)));
+        when(postmanCache.getUserAsync(3L)).thenReturn(Mono.error(
+                WebClientResponseException.create(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", null, null, null)));
+        when(postmanCache.getUserAsync(4L)).thenReturn(Mono.empty());
+
+        List<PostmanUserBatchResultDTO> results = postmanClientService.getUsersByIdsAsync(ids(1, 4)).block();
+
+        assertThat(results).extracting(PostmanUserBatchResultDTO::isSuccess).containsExactly(true, false, false, false);
+        assertThat(results.get(0).getUser().getUserPostmanName()).isEqualTo("user-1");
+        assertThat(results).extracting(PostmanUserBatchResultDTO::getError)
+                .containsExactly(null, "Upstream answered 404", "Upstream answered 503", "User not found");
+    }
+
+    @Test
+    @DisplayName("Should look up each distinct ID once and keep the request order")
+    void shouldDeduplicateAndKeepOrder() {
+        // Earlier IDs answer later, so completion order is the reverse of request order
+        when(postmanCache.getUserAsync(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return Mono.just(user(id)).delayElement(Duration.ofMillis(100 - id * 20));
+        });
+
+        List<PostmanUserBatchResultDTO> results = postmanClientService.getUsersByIdsAsync(List.of(3L, 1L, 3L, 2L, 1L)).block();
+
+        assertThat(results).extracting(PostmanUserBatchResultDTO::getId).containsExactly(3L, 1L, 2L);
+        verify(postmanCache, times(1)).getUserAsync(1L);
+        verify(postmanCache, times(1)).getUserAsync(2L);
+        verify(postmanCache, times(1)).getUserAsync(3L);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch or one over maxIds distinct IDs")
+    void shouldRejectBatchOutsideLimits() {
+        assertThatThrownBy(() -> postmanClientService.getUsersByIdsAsync(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> postmanClientService.getUsersByIdsAsync(ids(1, 11)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 1 and 10");
+
+        // Duplicates do not count towards the limit
+        when(postmanCache.getUserAsync(anyLong())).thenAnswer(invocation -> Mono.just(user(invocation.getArgument(0))));
+        List<Long> repeated = LongStream.rangeClosed(1, 20).mapToObj(i -> i % 10 + 1).collect(Collectors.toList());
+        assertThat(postmanClientService.getUsersByIdsAsync(repeated).block()).hasSize(10);
+        verify(postmanCache, never()).getUserAsync(11L);
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    private static PostmanClientResponse user(Long id) {
+        PostmanClientResponse user = new PostmanClientResponse();
+        user.setId(id);
+        user.setName("user-" + id);
+        return user;
+    }
+}
@@ -0,0 +1,200 @@
+package com.training.practice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.training.practice.cache.UserCache;
+import com.training.practice.dto.UserBatchResultDTO;
+import com.training.practice.dto.UserCreateDTO;
+import com.training.practice.dto.UserDTO;
+import com.training.practice.entity.User;
+import com.training.practice.event.UserChangedEvent;
+import com.training.practice.exception.EmailAlreadyExistsException;
+import com.training.practice.exception.UserNotFoundException;
+import com.training.practice.exception.VersionConflictException;
+import com.training.practice.mapper.SubjectMapper;
+import com.training.practice.mapper.UserMapper;
+import com.training.practice.pagination.KeysetCursorCodec;
+import com.training.practice.repository.SubjectRepository;
+import com.training.practice.repository.UserRepository;
+import com.training.practice.repository.projection.UserRow;
+import com.training.practice.search.UserNameIndex;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+
+/**
+ * Unit tests for UserService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserService Tests")
+class UserServiceTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private SubjectRepository subjectRepository;
+    @Mock private UserMapper userMapper;
+    @Mock private SubjectMapper subjectMapper;
+    @Mock private KeysetCursorCodec keysetCursorCodec;
+    @Mock private UserNameIndex userNameIndex;
+    @Mock private UserCache userCache;
+    @Mock private UserStatsService userStatsService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private EntityManager entityManager;
+    @Mock private Validator validator;
+
+    @InjectMocks
+    private UserService userService;
+
+    private static UserCreateDTO newUser(String email) {
+        return UserCreateDTO.builder().name("John Doe").email(email).department("IT").build();
+    }
+
+    @Test
+    @DisplayName("Should create every user of a batch whose emails are free")
+    @SuppressWarnings("unchecked")
+    void shouldCreateBatch() {
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(userRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            ((List<User>) invocation.getArgument(0)).forEach(user -> user.setId(UUID.randomUUID()));
+            return invocation.getArgument(0);
+        });
+
+        List<UserBatchResultDTO> results = userService.createUsers(List.of(newUser("a@example.com"), newUser("b@example.com")));
+
+        assertThat(results).allMatch(UserBatchResultDTO::isSuccess);
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("Should report an email registered concurrently between the check and the insert as a conflict")
+    void shouldTranslateConcurrentDuplicateEmail() {
+        // The IN check sees a free email, another request inserts it before this batch is flushed
+        when(userRepository.findExistingEmails(anyList())).thenReturn(List.of());
+        when(userRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'a@example.com' for key 'users.email'"));
+
+        assertThatThrownBy(() -> userService.createUsers(List.of(newUser("a@example.com"))))
+                .isInstanceOf(EmailAlreadyExistsException.class)
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should flip the status of a user cached at the expected version with the UPDATE alone")
+    void shouldUpdateStatusOfCachedUserInOneStatement() {
+        UUID id = UUID.randomUUID();
+        when(userCache.peekUser(id.toString())).thenReturn(Optional.of(cachedUser(id, 3L)));
+        when(userRepository.updateStatus(eq(id), eq(User.UserStatus.INACTIVE), eq(3L), any())).thenReturn(1);
+        when(userMapper.toDTO(any(UserRow.class))).thenAnswer(invocation -> toDTO(invocation.getArgument(0)));
+
+        UserDTO updated = userService.updateUserStatus(id.toString(), User.UserStatus.INACTIVE, 3L);
+
+        assertThat(updated.getStatus()).isEqualTo(User.UserStatus.INACTIVE);
+        assertThat(updated.getVersion()).isEqualTo(4L);
+        assertThat(updated.getSubjects()).isNull();
+        verify(userRepository).updateStatus(eq(id), eq(User.UserStatus.INACTIVE), eq(3L), any());
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(subjectRepository);
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should answer 404 when no row was updated because the user is gone")
+    void shouldReportMissingUserWhenNothingWasUpdated() {
+        UUID id = UUID.randomUUID();
+        when(userCache.peekUser(id.toString())).thenReturn(Optional.of(cachedUser(id, 3L)));
+        when(userRepository.updateStatus(eq(id), any(), eq(3L), any())).thenReturn(0);
+        when(userRepository.existsById(id)).thenReturn(false);
+
+        assertThatThrownBy(() -> userService.updateUserStatus(id.toString(), User.UserStatus.INACTIVE, 3L))
+                .isInstanceOf(UserNotFoundException.class);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when no row was updated because the version moved on")
+    void shouldReportConflictWhenNothingWasUpdated() {
+        UUID id = UUID.randomUUID();
+        when(userCache.peekUser(id.toString())).thenReturn(Optional.of(cachedUser(id, 3L)));
+        when(userRepository.updateStatus(eq(id), any(), eq(3L), any())).thenReturn(0);
+        when(userRepository.existsById(id)).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.updateUserStatus(id.toString(), User.UserStatus.INACTIVE, 3L))
+                .isInstanceOf(VersionConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should read the row before the UPDATE when the user is not cached, without loading subjects")
+    void shouldReadRowWhenUserIsNotCached() {
+        UUID id = UUID.randomUUID();
+        when(userCache.peekUser(id.toString())).thenReturn(Optional.empty());
+        when(userRepository.findRowById(id)).thenReturn(Optional.of(row(id, 3L)));
+        when(userRepository.updateStatus(eq(id), eq(User.UserStatus.SUSPENDED), eq(3L), any())).thenReturn(1);
+        when(userMapper.toDTO(any(UserRow.class))).thenAnswer(invocation -> toDTO(invocation.getArgument(0)));
+
+        UserDTO updated = userService.updateUserStatus(id.toString(), User.UserStatus.SUSPENDED, 3L);
+
+        assertThat(updated.getVersion()).isEqualTo(4L);
+        verify(userRepository, never()).existsById(any());
+        verifyNoInteractions(subjectRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a stale expected version before updating")
+    void shouldRejectStaleVersion() {
+        UUID id = UUID.randomUUID();
+        when(userCache.peekUser(id.toString())).thenReturn(Optional.of(cachedUser(id, 5L)));
+        when(userRepository.findRowById(id)).thenReturn(Optional.of(row(id, 5L)));
+
+        assertThatThrownBy(() -> userService.updateUserStatus(id.toString(), User.UserStatus.INACTIVE, 3L))
+                .isInstanceOf(VersionConflictException.class);
+        verify(userRepository, never()).updateStatus(any(), any(), anyLong(), any());
+    }
+
+    private static UserRow row(UUID id, long version) {
+        return new UserRow(id, "John Doe", "john.doe@example.com", null, "IT", User.UserStatus.ACTIVE,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 2, 0, 0), version);
+    }
+
+    private static UserDTO cachedUser(UUID id, long version) {
+        UserDTO user = toDTO(row(id, version));
+        user.setSubjects(List.of());
+        return user;
+    }
+
+    private static UserDTO toDTO(UserRow row) {
+        return UserDTO.builder()
+                .id(row.id().toString())
+                .name(row.name())
+                .email(row.email())
+                .department(row.department())
+                .status(row.status())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .version(row.version())
+                .build();
+    }
+}